@@ -106,21 +106,12 @@ const parseAIResponseToPredictions = (aiResponse) => {
   }];
 };
 
-// Process prediction service that uses Gemini
+// Process prediction service backed by the server-side insight endpoint
 const processPredictionService = {
   analyzeProcess: async (processData, historicalData) => {
     try {
-      // Get system context for better predictions
-      let contextMetrics = null;
-      try {
-        const response = await systemApi.getSystemMetrics();
-        contextMetrics = response.data;
-      } catch (error) {
-        console.warn('Could not fetch system context for AI analysis:', error);
-      }
-      
-      // Call the new analyzeProcess method from GeminiService
-      const aiResponse = await geminiService.analyzeProcess(processData, contextMetrics);
+      // The backend adds the system context to the prompt itself
+      const aiResponse = await geminiService.analyzeProcess(processData);
       
       // If Gemini returned predictions directly
       if (aiResponse.predictions && Array.isArray(aiResponse.predictions)) {
@@ -327,13 +318,13 @@ const ProcessList = () => {
     }
   }, [predictionHistory]);
 
-  // Predict behavior for all high-risk processes
+  // Predict behavior for all high-risk processes with one batched request
   const predictAllHighRisk = useCallback(async () => {
     setAnalyzing(true);
     const highRiskProcesses = processes.filter(p => p.cpuUsage > 40 || p.memoryUsage > 500000000);
     
-    // Limit to 5 processes to avoid rate limiting
-    const processesToAnalyze = highRiskProcesses.slice(0, 5);
+    // The backend answers up to 20 processes per request
+    const processesToAnalyze = highRiskProcesses.slice(0, 10);
     
     // Add all processes to currently analyzing list
     const analyzingList = processesToAnalyze.map(p => ({
@@ -343,13 +334,48 @@ const ProcessList = () => {
     }));
     setCurrentlyAnalyzing(analyzingList);
     
-    // Analyze processes sequentially to avoid overwhelming the API
-    for (const process of processesToAnalyze) {
-      await predictProcessBehavior(process);
+    try {
+      const results = await geminiService.analyzeProcesses(processesToAnalyze);
+      const lastUpdated = new Date().toISOString();
+      
+      setProcessPredictions(prev => {
+        const next = { ...prev };
+        results.forEach(result => {
+          next[result.pid] = {
+            predictions: result.predictions,
+            lastUpdated,
+            processName: result.processName
+          };
+        });
+        return next;
+      });
+      
+      // Add to prediction history
+      setPredictionHistory(prev => [
+        ...prev,
+        ...results.map(result => {
+          const process = processesToAnalyze.find(p => p.pid === result.pid);
+          return {
+            pid: result.pid,
+            processName: result.processName,
+            predictions: result.predictions,
+            timestamp: lastUpdated,
+            actualCpu: process?.cpuUsage,
+            actualMemory: process?.memoryUsage
+          };
+        })
+      ].slice(-100));
+    } catch (error) {
+      console.error('Batch prediction error:', error);
+      setAiServiceStatus(prev => ({
+        ...prev,
+        lastError: error.message
+      }));
+    } finally {
+      setCurrentlyAnalyzing([]);
+      setAnalyzing(false);
     }
-    
-    setAnalyzing(false);
-  }, [processes, predictProcessBehavior]);
+  }, [processes]);
 
   // Filter and sort processes
   useEffect(() => {
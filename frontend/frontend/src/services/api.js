@@ -28,9 +28,30 @@ export const systemApi = {
   // Get network metrics
   getNetworks: () => api.get('/monitor/networks'),
   
-  // Get process metrics
-  getProcesses: () => api.get('/monitor/processes'),
+  // Get process metrics ranked by cpu, rss, threads or io
+  getProcesses: (sort = 'cpu', limit = 10) => api.get('/monitor/processes', { params: { sort, limit } }),
+  
+  // Get the recorded history of one process (every instance of the PID)
+  getProcessHistory: (pid, from, to) => api.get(`/monitor/processes/${pid}/history`, { params: { from, to } }),
+  
+  // Get processes whose memory has been growing steadily (possible leaks)
+  getLeakSuspects: (limit = 10) => api.get('/monitor/processes/leaks', { params: { limit } }),
+  
+  // Get server-side forecasts with prediction intervals for every series
+  getPredictions: () => api.get('/monitor/predictions'),
+  
+  // Get recent anomalies scored against each series' own baseline
+  getAnomalies: () => api.get('/monitor/anomalies'),
+  
+  // Get AI health insights for the current snapshot (cached and shared server-side)
+  getInsights: () => api.get('/monitor/insights'),
+  
+  // Get AI predictions for several processes from one batched model call
+  analyzeProcesses: (pids) => api.post('/monitor/insights/processes', { pids }),
   
   // Get alerts
   getAlerts: () => api.get('/monitor/alerts'),
+  
+  // Get server-side history for one metric (epoch ms range, step in ms)
+  getHistory: (metric, from, to, step = 0) => api.get('/monitor/history', { params: { metric, from, to, step } }),
 };
\ No newline at end of file
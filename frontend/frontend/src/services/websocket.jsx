@@ -143,11 +143,8 @@ export const WebSocketProvider = ({ children }) => {
   // Check AI service status on mount
   useEffect(() => {
     setAiEnabled(geminiService.enabled);
-    if (geminiService.enabled) {
-      console.log('🤖 Gemini AI service is enabled (manual triggering only)');
-    } else {
-      console.log('⚠️ Gemini AI service is disabled. Add VITE_GEMINI_API_KEY to .env');
-    }
+    console.log('🤖 AI insights are served by the backend (manual triggering only). ' +
+      'Set monitor.insight.client, and monitor.insight.gemini.api-key for Gemini, in application.properties');
   }, []);
 
   // Initialize polling on component mount
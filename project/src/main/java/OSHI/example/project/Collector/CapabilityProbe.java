@@ -0,0 +1,122 @@
+package OSHI.example.project.Collector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import oshi.SystemInfo;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.Sensors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+// Works out once which OSHI sources return real data on this host (VMs and containers typically
+// have no fans, no temperature sensor and sometimes no block devices) and turns that into a
+// CollectorPlan. The sampler re-runs the probe rarely in the background so hot-plugged hardware
+// or a late-loading sensor driver is eventually picked up.
+@Component
+public class CapabilityProbe {
+
+    private static final Logger log = LoggerFactory.getLogger(CapabilityProbe.class);
+
+    public static final String SENSORS = "sensors";
+    public static final String NETWORK = "network";
+    public static final String DISK_IO = "disk-io";
+
+    private final HardwareAbstractionLayer hardware;
+
+    private volatile CollectorPlan plan;
+
+    public CapabilityProbe(SystemInfo systemInfo) {
+        this.hardware = systemInfo.getHardware();
+        this.plan = detect();
+        log.info("Collector plan: {}", plan);
+    }
+
+    public CollectorPlan getPlan() {
+        return plan;
+    }
+
+    // Only detects; the result is not visible through getPlan() until the sampler publishes it,
+    // so readers never see a plan the collectors haven't been switched to yet
+    public CollectorPlan probe() {
+        return detect();
+    }
+
+    public void publish(CollectorPlan probed) {
+        if (!sameCapabilities(plan, probed)) {
+            log.info("Collector plan: {}", probed);
+        }
+        plan = probed;
+    }
+
+    // Private so the constructor can run it without calling an overridable method
+    private CollectorPlan detect() {
+        Sensors sensors = hardware.getSensors();
+        CentralProcessor cpu = hardware.getProcessor();
+
+        boolean cpuTemperature = safely(() -> {
+            double temperature = sensors.getCpuTemperature();
+            return temperature > 0 && !Double.isNaN(temperature);
+        });
+        boolean fanSpeeds = safely(() -> {
+            int[] speeds = sensors.getFanSpeeds();
+            return speeds != null && speeds.length > 0;
+        });
+        boolean loadAverage = safely(() -> {
+            double[] average = cpu.getSystemLoadAverage(1);
+            return average != null && average.length > 0 && average[0] >= 0;
+        });
+        boolean diskStores = safely(() -> !hardware.getDiskStores().isEmpty());
+        boolean networkInterfaces = safely(() -> !hardware.getNetworkIFs().isEmpty());
+
+        List<String> disabled = new ArrayList<>();
+        if (!cpuTemperature && !fanSpeeds) {
+            disabled.add(SENSORS);
+        }
+        if (!diskStores) {
+            disabled.add(DISK_IO);
+        }
+        if (!networkInterfaces) {
+            disabled.add(NETWORK);
+        }
+
+        return new CollectorPlan(System.currentTimeMillis(), cpuTemperature, fanSpeeds,
+                probeFrequencySource(cpu), loadAverage, diskStores, networkInterfaces, List.copyOf(disabled));
+    }
+
+    private static FrequencySource probeFrequencySource(CentralProcessor cpu) {
+        if (safely(() -> {
+            long[] current = cpu.getCurrentFreq();
+            return current != null && current.length > 0 && current[0] > 0;
+        })) {
+            return FrequencySource.CURRENT;
+        }
+        if (safely(() -> cpu.getProcessorIdentifier().getVendorFreq() > 0)) {
+            return FrequencySource.VENDOR;
+        }
+        if (safely(() -> cpu.getMaxFreq() > 0)) {
+            return FrequencySource.MAX;
+        }
+        return FrequencySource.NONE;
+    }
+
+    private static boolean sameCapabilities(CollectorPlan a, CollectorPlan b) {
+        return a.cpuTemperature() == b.cpuTemperature()
+                && a.fanSpeeds() == b.fanSpeeds()
+                && a.frequencySource() == b.frequencySource()
+                && a.loadAverage() == b.loadAverage()
+                && a.disabledCollectors().equals(b.disabledCollectors());
+    }
+
+    // A source that throws is as dead as one that returns nothing
+    private static boolean safely(BooleanSupplier check) {
+        try {
+            return check.getAsBoolean();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
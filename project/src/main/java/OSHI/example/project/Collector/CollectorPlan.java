@@ -0,0 +1,24 @@
+package OSHI.example.project.Collector;
+
+import java.util.List;
+
+// Which OSHI sources actually return data on this host, as found by the CapabilityProbe.
+// Collectors skip dead sources entirely instead of reading them every tick.
+public record CollectorPlan(
+        long probedAt,
+        boolean cpuTemperature,
+        boolean fanSpeeds,
+        FrequencySource frequencySource,
+        boolean loadAverage,
+        boolean diskStores,
+        boolean networkInterfaces,
+        List<String> disabledCollectors) {
+
+    public boolean sensors() {
+        return cpuTemperature || fanSpeeds;
+    }
+
+    public boolean isEnabled(String collector) {
+        return !disabledCollectors.contains(collector);
+    }
+}
@@ -0,0 +1,52 @@
+package OSHI.example.project.Collector;
+
+// Fixed-capacity ring of monotonic counter samples. Each sample is a timestamp plus a fixed
+// number of counter fields, all stored in flat primitive arrays allocated once, so recording a
+// sample never allocates. Rates are taken across the whole window (oldest to newest sample).
+public final class CounterRing {
+
+    private final int capacity;
+    private final int fields;
+    private final long[] timestamps;
+    private final long[] counters;
+
+    private int newest = -1;
+    private int size;
+
+    public CounterRing(int capacity, int fields) {
+        this.capacity = Math.max(capacity, 2);
+        this.fields = fields;
+        this.timestamps = new long[this.capacity];
+        this.counters = new long[this.capacity * fields];
+    }
+
+    // Starts a new sample, overwriting the oldest one once the ring is full.
+    // Returns the slot to fill with put().
+    public int begin(long timestamp) {
+        newest = (newest + 1) % capacity;
+        if (size < capacity) {
+            size++;
+        }
+        timestamps[newest] = timestamp;
+        return newest;
+    }
+
+    public void put(int slot, int field, long value) {
+        counters[slot * fields + field] = value;
+    }
+
+    // Change per second of one field across the window. A counter that went backwards (interface
+    // reset, driver reload) yields 0 until the reset sample has rotated out.
+    public double ratePerSecond(int field) {
+        if (size < 2) {
+            return 0.0;
+        }
+        int oldest = (newest - size + 1 + capacity) % capacity;
+        long elapsed = timestamps[newest] - timestamps[oldest];
+        long delta = counters[newest * fields + field] - counters[oldest * fields + field];
+        if (elapsed <= 0 || delta < 0) {
+            return 0.0;
+        }
+        return delta * 1000.0 / elapsed;
+    }
+}
@@ -0,0 +1,6 @@
+package OSHI.example.project.Collector;
+
+// Utilisation over the interval between two consecutive CPU samples, in percent.
+// systemTicks are the raw counters of the newer sample.
+public record CpuLoad(double total, double[] perCore, long[] systemTicks) {
+}
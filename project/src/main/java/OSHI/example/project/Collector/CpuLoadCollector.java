@@ -0,0 +1,75 @@
+package OSHI.example.project.Collector;
+
+import org.springframework.stereotype.Component;
+import oshi.SystemInfo;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.CentralProcessor.TickType;
+
+// Computes total and per-core utilisation from tick deltas between consecutive samples, so no
+// call ever sleeps. The previous tick counters live in preallocated primitive buffers that are
+// overwritten in place on every sample.
+//
+// Thread-confined: the sampler runs this collector at most once at a time and every run is
+// joined before the next one is submitted, so consecutive runs are ordered even though they may
+// land on different virtual threads.
+@Component
+public class CpuLoadCollector {
+
+    private static final int TICK_TYPES = TickType.values().length;
+    private static final int IDLE = TickType.IDLE.getIndex();
+    private static final int IOWAIT = TickType.IOWAIT.getIndex();
+
+    private final CentralProcessor cpu;
+
+    private final long[] previousSystemTicks = new long[TICK_TYPES];
+    private long[][] previousProcessorTicks;
+
+    public CpuLoadCollector(SystemInfo systemInfo) {
+        this.cpu = systemInfo.getHardware().getProcessor();
+        System.arraycopy(cpu.getSystemCpuLoadTicks(), 0, previousSystemTicks, 0, TICK_TYPES);
+        this.previousProcessorTicks = copyOf(cpu.getProcessorCpuLoadTicks());
+    }
+
+    public CpuLoad sample() {
+        long[] systemTicks = cpu.getSystemCpuLoadTicks();
+        long[][] processorTicks = cpu.getProcessorCpuLoadTicks();
+
+        double total = loadBetween(previousSystemTicks, systemTicks);
+        System.arraycopy(systemTicks, 0, previousSystemTicks, 0, TICK_TYPES);
+
+        if (processorTicks.length != previousProcessorTicks.length) {
+            // Logical processors went on/offline; start the per-core deltas over
+            previousProcessorTicks = copyOf(processorTicks);
+        }
+
+        // The published array is handed to readers with the snapshot, so it can't be reused
+        double[] perCore = new double[processorTicks.length];
+        for (int core = 0; core < processorTicks.length; core++) {
+            perCore[core] = loadBetween(previousProcessorTicks[core], processorTicks[core]);
+            System.arraycopy(processorTicks[core], 0, previousProcessorTicks[core], 0, TICK_TYPES);
+        }
+
+        return new CpuLoad(total, perCore, systemTicks);
+    }
+
+    // Same accounting as OSHI's getSystemCpuLoadBetweenTicks: idle and iowait count as idle
+    private static double loadBetween(long[] previous, long[] current) {
+        long total = 0;
+        for (int i = 0; i < TICK_TYPES; i++) {
+            total += current[i] - previous[i];
+        }
+        long idle = current[IDLE] + current[IOWAIT] - previous[IDLE] - previous[IOWAIT];
+        if (total <= 0) {
+            return 0.0;
+        }
+        return Math.min(Math.max((total - idle) * 100.0 / total, 0.0), 100.0);
+    }
+
+    private static long[][] copyOf(long[][] ticks) {
+        long[][] copy = new long[ticks.length][TICK_TYPES];
+        for (int core = 0; core < ticks.length; core++) {
+            System.arraycopy(ticks[core], 0, copy[core], 0, TICK_TYPES);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,7 @@
+package OSHI.example.project.Collector;
+
+import OSHI.example.project.DTO.CpuDetailsDTO;
+
+// Output of the CPU collector: total load since the previous sample plus the detail view
+public record CpuSample(double load, CpuDetailsDTO details) {
+}
@@ -0,0 +1,126 @@
+package OSHI.example.project.Collector;
+
+import OSHI.example.project.DTO.DiskIoDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import oshi.SystemInfo;
+import oshi.hardware.HWDiskStore;
+import oshi.hardware.HardwareAbstractionLayer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-device throughput and saturation from HWDiskStore counters. Only the previous reading of
+// each device is kept (a two-slot CounterRing), so every sample is O(devices) regardless of how
+// long the app has been running. Device handles are refreshed with updateAttributes() and only
+// re-enumerated every rediscover interval.
+//
+// Thread-confined in the same way as CpuLoadCollector.
+@Component
+public class DiskIoCollector {
+
+    private static final int READS = 0;
+    private static final int WRITES = 1;
+    private static final int READ_BYTES = 2;
+    private static final int WRITE_BYTES = 3;
+    private static final int TRANSFER_TIME = 4;
+    private static final int FIELDS = 5;
+
+    // Weight of the newest queue-length reading in the running average
+    private static final double QUEUE_SMOOTHING = 0.3;
+
+    private final HardwareAbstractionLayer hardware;
+    private final long rediscoverIntervalMs;
+
+    private List<TrackedDisk> disks = List.of();
+    private long lastDiscoveryAt;
+
+    public DiskIoCollector(SystemInfo systemInfo,
+                           @Value("${monitor.disk-io.rediscover-interval-ms:60000}") long rediscoverIntervalMs) {
+        this.hardware = systemInfo.getHardware();
+        this.rediscoverIntervalMs = rediscoverIntervalMs;
+    }
+
+    public List<DiskIoDTO> sample() {
+        long now = System.currentTimeMillis();
+        if (now - lastDiscoveryAt >= rediscoverIntervalMs) {
+            discover();
+            lastDiscoveryAt = now;
+        } else {
+            for (TrackedDisk tracked : disks) {
+                tracked.disk.updateAttributes();
+            }
+        }
+
+        List<DiskIoDTO> result = new ArrayList<>(disks.size());
+        for (TrackedDisk tracked : disks) {
+            tracked.record();
+            result.add(tracked.toDto());
+        }
+        return result;
+    }
+
+    private void discover() {
+        Map<String, TrackedDisk> previous = new HashMap<>();
+        for (TrackedDisk tracked : disks) {
+            previous.put(tracked.disk.getName(), tracked);
+        }
+
+        List<TrackedDisk> discovered = new ArrayList<>();
+        for (HWDiskStore disk : hardware.getDiskStores()) {
+            TrackedDisk tracked = previous.get(disk.getName());
+            discovered.add(tracked != null ? tracked.withHandle(disk) : new TrackedDisk(disk));
+        }
+        disks = discovered;
+    }
+
+    private static final class TrackedDisk {
+        private HWDiskStore disk;
+        private final CounterRing ring = new CounterRing(2, FIELDS);
+        private double averageQueueDepth = -1;
+
+        private TrackedDisk(HWDiskStore disk) {
+            this.disk = disk;
+        }
+
+        private TrackedDisk withHandle(HWDiskStore handle) {
+            disk = handle;
+            return this;
+        }
+
+        private void record() {
+            int slot = ring.begin(disk.getTimeStamp());
+            ring.put(slot, READS, disk.getReads());
+            ring.put(slot, WRITES, disk.getWrites());
+            ring.put(slot, READ_BYTES, disk.getReadBytes());
+            ring.put(slot, WRITE_BYTES, disk.getWriteBytes());
+            ring.put(slot, TRANSFER_TIME, disk.getTransferTime());
+
+            long queueLength = disk.getCurrentQueueLength();
+            averageQueueDepth = averageQueueDepth < 0
+                    ? queueLength
+                    : QUEUE_SMOOTHING * queueLength + (1 - QUEUE_SMOOTHING) * averageQueueDepth;
+        }
+
+        private DiskIoDTO toDto() {
+            double reads = ring.ratePerSecond(READS);
+            double writes = ring.ratePerSecond(WRITES);
+
+            DiskIoDTO dto = new DiskIoDTO();
+            dto.setName(disk.getName());
+            dto.setModel(disk.getModel());
+            dto.setReadsPerSecond(reads);
+            dto.setWritesPerSecond(writes);
+            dto.setIops(reads + writes);
+            dto.setReadBytesPerSecond(Math.round(ring.ratePerSecond(READ_BYTES)));
+            dto.setWriteBytesPerSecond(Math.round(ring.ratePerSecond(WRITE_BYTES)));
+            // Transfer time is ms of busy time, so ms-per-second / 10 is a percentage
+            dto.setBusyPercentage(Math.min(ring.ratePerSecond(TRANSFER_TIME) / 10.0, 100.0));
+            dto.setQueueLength(disk.getCurrentQueueLength());
+            dto.setAverageQueueDepth(averageQueueDepth);
+            return dto;
+        }
+    }
+}
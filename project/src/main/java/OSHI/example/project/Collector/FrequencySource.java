@@ -0,0 +1,12 @@
+package OSHI.example.project.Collector;
+
+// Where the CPU collector gets its "current" frequency from on this host
+public enum FrequencySource {
+    // Per-core live frequencies from getCurrentFreq()
+    CURRENT,
+    // Nominal frequency from the processor identifier
+    VENDOR,
+    // Maximum frequency, when nothing better is reported
+    MAX,
+    NONE
+}
@@ -0,0 +1,57 @@
+package OSHI.example.project.Collector;
+
+import oshi.SystemInfo;
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.ComputerSystem;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.software.os.OperatingSystem;
+
+// Host metadata that can't change while the process runs. Captured once at boot and served
+// from /api/monitor/host, so none of it is re-queried or re-sent with every snapshot.
+public record HostProfile(
+        String osFamily,
+        String osVersion,
+        String osBuildNumber,
+        String osManufacturer,
+        int osBitness,
+        String systemManufacturer,
+        String systemModel,
+        String cpuName,
+        String cpuVendor,
+        String cpuMicroarchitecture,
+        int physicalPackages,
+        int physicalCores,
+        int logicalCores,
+        long maxFrequency,
+        long totalMemory,
+        long bootTime,
+        long capturedAt) {
+
+    public static HostProfile capture(SystemInfo systemInfo) {
+        HardwareAbstractionLayer hardware = systemInfo.getHardware();
+        OperatingSystem os = systemInfo.getOperatingSystem();
+        CentralProcessor cpu = hardware.getProcessor();
+        CentralProcessor.ProcessorIdentifier identifier = cpu.getProcessorIdentifier();
+        ComputerSystem computerSystem = hardware.getComputerSystem();
+        OperatingSystem.OSVersionInfo version = os.getVersionInfo();
+
+        return new HostProfile(
+                os.getFamily(),
+                version.getVersion(),
+                version.getBuildNumber(),
+                os.getManufacturer(),
+                os.getBitness(),
+                computerSystem.getManufacturer(),
+                computerSystem.getModel(),
+                identifier.getName(),
+                identifier.getVendor(),
+                identifier.getMicroarchitecture(),
+                cpu.getPhysicalPackageCount(),
+                cpu.getPhysicalProcessorCount(),
+                cpu.getLogicalProcessorCount(),
+                cpu.getMaxFreq(),
+                hardware.getMemory().getTotal(),
+                os.getSystemBootTime(),
+                System.currentTimeMillis());
+    }
+}
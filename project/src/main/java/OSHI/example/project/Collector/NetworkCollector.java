@@ -0,0 +1,144 @@
+package OSHI.example.project.Collector;
+
+import OSHI.example.project.DTO.NetworkDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import oshi.SystemInfo;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.NetworkIF;
+
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps the NetworkIF handles between samples and refreshes them with updateAttributes() instead
+// of re-enumerating interfaces every time. The last few counter readings of every interface are
+// kept in a CounterRing, so throughput, packet, error and drop rates come from the sampler's own
+// cadence without any extra sleeps.
+//
+// Thread-confined in the same way as CpuLoadCollector.
+@Component
+public class NetworkCollector {
+
+    private static final int BYTES_SENT = 0;
+    private static final int BYTES_RECV = 1;
+    private static final int PACKETS_SENT = 2;
+    private static final int PACKETS_RECV = 3;
+    private static final int IN_ERRORS = 4;
+    private static final int OUT_ERRORS = 5;
+    private static final int IN_DROPS = 6;
+    private static final int FIELDS = 7;
+
+    // IANA ifType for softwareLoopback, used when the JDK can't resolve the interface
+    private static final int IF_TYPE_LOOPBACK = 24;
+
+    private final HardwareAbstractionLayer hardware;
+    private final int windowSamples;
+    private final long rediscoverIntervalMs;
+
+    private List<TrackedInterface> interfaces = List.of();
+    private long lastDiscoveryAt;
+
+    public NetworkCollector(SystemInfo systemInfo,
+                            @Value("${monitor.network.window-samples:5}") int windowSamples,
+                            @Value("${monitor.network.rediscover-interval-ms:60000}") long rediscoverIntervalMs) {
+        this.hardware = systemInfo.getHardware();
+        this.windowSamples = windowSamples;
+        this.rediscoverIntervalMs = rediscoverIntervalMs;
+    }
+
+    public List<NetworkDTO> sample() {
+        long now = System.currentTimeMillis();
+        if (now - lastDiscoveryAt >= rediscoverIntervalMs) {
+            discover();
+            lastDiscoveryAt = now;
+        } else {
+            for (TrackedInterface tracked : interfaces) {
+                tracked.net.updateAttributes();
+            }
+        }
+
+        List<NetworkDTO> networks = new ArrayList<>(interfaces.size());
+        for (TrackedInterface tracked : interfaces) {
+            tracked.record();
+            networks.add(tracked.toDto());
+        }
+        return networks;
+    }
+
+    // Interfaces come and go (VPNs, containers), so the handle list is rebuilt now and then.
+    // Existing rings are carried over by name so rates stay continuous.
+    private void discover() {
+        Map<String, TrackedInterface> previous = new HashMap<>();
+        for (TrackedInterface tracked : interfaces) {
+            previous.put(tracked.net.getName(), tracked);
+        }
+
+        List<TrackedInterface> discovered = new ArrayList<>();
+        for (NetworkIF net : hardware.getNetworkIFs()) {
+            if (isLoopback(net)) {
+                continue;
+            }
+            TrackedInterface tracked = previous.get(net.getName());
+            discovered.add(tracked != null ? tracked.withHandle(net) : new TrackedInterface(net, windowSamples));
+        }
+        interfaces = discovered;
+    }
+
+    private static boolean isLoopback(NetworkIF net) {
+        try {
+            NetworkInterface nif = net.queryNetworkInterface();
+            if (nif != null) {
+                return nif.isLoopback();
+            }
+        } catch (SocketException e) {
+            // Fall through to the interface type
+        }
+        return net.getIfType() == IF_TYPE_LOOPBACK;
+    }
+
+    private static final class TrackedInterface {
+        private NetworkIF net;
+        private final CounterRing ring;
+
+        private TrackedInterface(NetworkIF net, int windowSamples) {
+            this.net = net;
+            this.ring = new CounterRing(windowSamples, FIELDS);
+        }
+
+        private TrackedInterface withHandle(NetworkIF handle) {
+            net = handle;
+            return this;
+        }
+
+        private void record() {
+            int slot = ring.begin(net.getTimeStamp());
+            ring.put(slot, BYTES_SENT, net.getBytesSent());
+            ring.put(slot, BYTES_RECV, net.getBytesRecv());
+            ring.put(slot, PACKETS_SENT, net.getPacketsSent());
+            ring.put(slot, PACKETS_RECV, net.getPacketsRecv());
+            ring.put(slot, IN_ERRORS, net.getInErrors());
+            ring.put(slot, OUT_ERRORS, net.getOutErrors());
+            ring.put(slot, IN_DROPS, net.getInDrops());
+        }
+
+        private NetworkDTO toDto() {
+            NetworkDTO network = new NetworkDTO();
+            network.setName(net.getName());
+            network.setDisplayName(net.getDisplayName());
+            network.setBytesSent(net.getBytesSent());
+            network.setBytesReceived(net.getBytesRecv());
+            network.setUploadSpeed(Math.round(ring.ratePerSecond(BYTES_SENT)));
+            network.setDownloadSpeed(Math.round(ring.ratePerSecond(BYTES_RECV)));
+            network.setPacketsSentPerSecond(ring.ratePerSecond(PACKETS_SENT));
+            network.setPacketsReceivedPerSecond(ring.ratePerSecond(PACKETS_RECV));
+            network.setInErrorsPerSecond(ring.ratePerSecond(IN_ERRORS));
+            network.setOutErrorsPerSecond(ring.ratePerSecond(OUT_ERRORS));
+            network.setInDropsPerSecond(ring.ratePerSecond(IN_DROPS));
+            return network;
+        }
+    }
+}
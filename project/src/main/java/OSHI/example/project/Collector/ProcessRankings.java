@@ -0,0 +1,50 @@
+package OSHI.example.project.Collector;
+
+import OSHI.example.project.DTO.ProcessDTO;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable top-N lists for every ProcessSort, produced by one pass over the process table.
+// Serving a ranking is a sublist view, so requests cost O(k) regardless of how many PIDs exist.
+public final class ProcessRankings {
+
+    public static final ProcessRankings EMPTY = new ProcessRankings(new EnumMap<>(ProcessSort.class), 0, 0);
+
+    private final Map<ProcessSort, List<ProcessDTO>> rankings;
+    private final int capacity;
+    private final int trackedProcesses;
+
+    ProcessRankings(EnumMap<ProcessSort, List<ProcessDTO>> rankings, int capacity, int trackedProcesses) {
+        this.rankings = rankings;
+        this.capacity = capacity;
+        this.trackedProcesses = trackedProcesses;
+    }
+
+    public List<ProcessDTO> top(ProcessSort sort, int limit) {
+        List<ProcessDTO> ranking = rankings.getOrDefault(sort, List.of());
+        return ranking.subList(0, Math.max(0, Math.min(limit, ranking.size())));
+    }
+
+    // The process with this pid in any ranking, or null when it made none of them
+    public ProcessDTO find(int pid) {
+        for (List<ProcessDTO> ranking : rankings.values()) {
+            for (ProcessDTO process : ranking) {
+                if (process.getPid() == pid) {
+                    return process;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Largest limit a request can be served without a rescan
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getTrackedProcesses() {
+        return trackedProcesses;
+    }
+}
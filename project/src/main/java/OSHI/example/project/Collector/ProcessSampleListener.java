@@ -0,0 +1,14 @@
+package OSHI.example.project.Collector;
+
+// Receives every live process after each ProcessTracker sample, on the collector thread that ran
+// it. bestRank is the process's best position (0-based) across the cpu/rss/threads/io rankings,
+// or Integer.MAX_VALUE when it made none of them. Implementations must be quick and must not
+// keep references to anything they're handed beyond the primitives and the name.
+public interface ProcessSampleListener {
+
+    void beginSample(long timestamp);
+
+    void process(int pid, long startTime, String name, double cpuPercent, long rss, int threads, int bestRank);
+
+    void endSample(long timestamp);
+}
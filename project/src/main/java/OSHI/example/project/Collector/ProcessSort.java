@@ -0,0 +1,19 @@
+package OSHI.example.project.Collector;
+
+import java.util.Locale;
+
+// Keys the process table can be ranked by. Every ranking is built in the same pass over the table.
+public enum ProcessSort {
+    CPU,
+    RSS,
+    THREADS,
+    IO;
+
+    public static ProcessSort fromParam(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sort '" + value + "'. Must be one of cpu, rss, threads, io");
+        }
+    }
+}
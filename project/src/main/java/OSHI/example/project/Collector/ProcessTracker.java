@@ -0,0 +1,217 @@
+package OSHI.example.project.Collector;
+
+import OSHI.example.project.DTO.ProcessDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import oshi.SystemInfo;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Keeps a PID-keyed process table across samples instead of rebuilding and sorting the full
+// process list every time. Known processes are refreshed in place with updateAttributes(); a full
+// OS scan only runs every rescan interval to pick up new processes and drop exited ones.
+// CPU and I/O are measured over the interval since the previous sample rather than over the
+// process lifetime. One pass over the table feeds a bounded heap per ProcessSort, so every
+// ranking costs O(n log k) and no ranking needs its own scan.
+//
+// Thread-confined in the same way as CpuLoadCollector: the sampler never runs it concurrently
+// with itself and joins each run before submitting the next.
+@Component
+public class ProcessTracker {
+
+    private static final Map<ProcessSort, Comparator<TrackedProcess>> ORDER = new EnumMap<>(Map.of(
+            ProcessSort.CPU, Comparator.comparingDouble(p -> p.cpu),
+            ProcessSort.RSS, Comparator.comparingLong(p -> p.rss),
+            ProcessSort.THREADS, Comparator.comparingInt(p -> p.threads),
+            ProcessSort.IO, Comparator.comparingDouble(p -> p.ioRate)));
+
+    private final OperatingSystem os;
+    private final long rescanIntervalMs;
+    private final int rankingSize;
+    private final List<ProcessSampleListener> listeners;
+    private final Map<Integer, TrackedProcess> table = new HashMap<>();
+
+    private long lastRescanAt;
+    private long generation;
+
+    public ProcessTracker(SystemInfo systemInfo,
+                          @Value("${monitor.process.rescan-interval-ms:15000}") long rescanIntervalMs,
+                          @Value("${monitor.process.ranking-size:50}") int rankingSize,
+                          List<ProcessSampleListener> listeners) {
+        this.os = systemInfo.getOperatingSystem();
+        this.rescanIntervalMs = rescanIntervalMs;
+        this.rankingSize = rankingSize;
+        this.listeners = listeners;
+    }
+
+    public ProcessRankings sample() {
+        long now = System.currentTimeMillis();
+        if (table.isEmpty() || now - lastRescanAt >= rescanIntervalMs) {
+            rescan(now);
+        } else {
+            refresh();
+        }
+        ProcessRankings rankings = rank();
+        notifyListeners(now);
+        return rankings;
+    }
+
+    // Full scan: discovers new PIDs, drops exited ones, and measures known processes against
+    // their previous handle with OSHI's getProcessCpuLoadBetweenTicks
+    private void rescan(long now) {
+        long scan = ++generation;
+        for (OSProcess process : os.getProcesses()) {
+            TrackedProcess tracked = table.get(process.getProcessID());
+            if (tracked != null && tracked.startTime == process.getStartTime()) {
+                tracked.cpu = process.getProcessCpuLoadBetweenTicks(tracked.handle);
+                tracked.ioRate = ioRate(ioBytes(process) - ioBytes(tracked.handle),
+                        process.getUpTime() - tracked.handle.getUpTime());
+                tracked.adopt(process);
+            } else {
+                // New process, or the PID was reused by a different one
+                tracked = new TrackedProcess(process);
+                table.put(tracked.pid, tracked);
+            }
+            tracked.generation = scan;
+        }
+        table.values().removeIf(tracked -> tracked.generation != scan);
+        lastRescanAt = now;
+    }
+
+    // Cheap pass between scans: refresh every known handle in place and diff against the
+    // counters it held before the refresh
+    private void refresh() {
+        Iterator<TrackedProcess> it = table.values().iterator();
+        while (it.hasNext()) {
+            TrackedProcess tracked = it.next();
+            long previousCpuTime = tracked.handle.getKernelTime() + tracked.handle.getUserTime();
+            long previousIoBytes = ioBytes(tracked.handle);
+            long previousUpTime = tracked.handle.getUpTime();
+            if (!tracked.handle.updateAttributes() || tracked.handle.getStartTime() != tracked.startTime) {
+                // Exited, or the PID now belongs to another process; the next scan picks it up
+                it.remove();
+                continue;
+            }
+            long elapsed = tracked.handle.getUpTime() - previousUpTime;
+            long cpuTime = tracked.handle.getKernelTime() + tracked.handle.getUserTime() - previousCpuTime;
+            tracked.cpu = elapsed > 0 ? cpuTime / (double) elapsed : tracked.handle.getProcessCpuLoadCumulative();
+            tracked.ioRate = ioRate(ioBytes(tracked.handle) - previousIoBytes, elapsed);
+            tracked.adopt(tracked.handle);
+        }
+    }
+
+    private static long ioBytes(OSProcess process) {
+        return process.getBytesRead() + process.getBytesWritten();
+    }
+
+    // Bytes per second from a byte delta over an up-time delta in ms
+    private static double ioRate(long bytes, long elapsedMs) {
+        return elapsedMs > 0 && bytes > 0 ? bytes * 1000.0 / elapsedMs : 0.0;
+    }
+
+    private ProcessRankings rank() {
+        if (rankingSize <= 0) {
+            return ProcessRankings.EMPTY;
+        }
+        for (TrackedProcess tracked : table.values()) {
+            tracked.bestRank = Integer.MAX_VALUE;
+        }
+        // One min-heap per key holding the best K seen so far; each root is the one to beat
+        EnumMap<ProcessSort, PriorityQueue<TrackedProcess>> heaps = new EnumMap<>(ProcessSort.class);
+        for (ProcessSort sort : ProcessSort.values()) {
+            heaps.put(sort, new PriorityQueue<>(rankingSize + 1, ORDER.get(sort)));
+        }
+        for (TrackedProcess tracked : table.values()) {
+            for (Map.Entry<ProcessSort, PriorityQueue<TrackedProcess>> entry : heaps.entrySet()) {
+                offer(entry.getValue(), ORDER.get(entry.getKey()), tracked);
+            }
+        }
+
+        // A process in several rankings shares one DTO
+        Map<TrackedProcess, ProcessDTO> dtos = new IdentityHashMap<>();
+        EnumMap<ProcessSort, List<ProcessDTO>> rankings = new EnumMap<>(ProcessSort.class);
+        for (Map.Entry<ProcessSort, PriorityQueue<TrackedProcess>> entry : heaps.entrySet()) {
+            PriorityQueue<TrackedProcess> heap = entry.getValue();
+            ProcessDTO[] top = new ProcessDTO[heap.size()];
+            for (int i = top.length - 1; i >= 0; i--) {
+                TrackedProcess tracked = heap.poll();
+                tracked.bestRank = Math.min(tracked.bestRank, i);
+                top[i] = dtos.computeIfAbsent(tracked, TrackedProcess::toDto);
+            }
+            rankings.put(entry.getKey(), List.of(top));
+        }
+        return new ProcessRankings(rankings, rankingSize, table.size());
+    }
+
+    private void notifyListeners(long now) {
+        for (ProcessSampleListener listener : listeners) {
+            listener.beginSample(now);
+            for (TrackedProcess tracked : table.values()) {
+                listener.process(tracked.pid, tracked.startTime, tracked.name, tracked.cpu * 100, tracked.rss,
+                        tracked.threads, tracked.bestRank);
+            }
+            listener.endSample(now);
+        }
+    }
+
+    private void offer(PriorityQueue<TrackedProcess> heap, Comparator<TrackedProcess> order, TrackedProcess tracked) {
+        if (heap.size() < rankingSize) {
+            heap.add(tracked);
+        } else if (order.compare(tracked, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(tracked);
+        }
+    }
+
+    private static final class TrackedProcess {
+        private final int pid;
+        private final long startTime;
+        private OSProcess handle;
+        private String name;
+        private double cpu;
+        private double ioRate;
+        private long rss;
+        private int threads;
+        private String state;
+        private long generation;
+        private int bestRank = Integer.MAX_VALUE;
+
+        private TrackedProcess(OSProcess process) {
+            this.pid = process.getProcessID();
+            this.startTime = process.getStartTime();
+            // No previous sample yet, so the lifetime average is the best estimate
+            this.cpu = process.getProcessCpuLoadCumulative();
+            adopt(process);
+        }
+
+        private void adopt(OSProcess process) {
+            handle = process;
+            name = process.getName();
+            rss = process.getResidentSetSize();
+            threads = process.getThreadCount();
+            state = process.getState().name();
+        }
+
+        private ProcessDTO toDto() {
+            ProcessDTO dto = new ProcessDTO();
+            dto.setPid(pid);
+            dto.setStartTime(startTime);
+            dto.setName(name);
+            dto.setCpuUsage(cpu * 100);
+            dto.setMemoryUsage(rss);
+            dto.setState(state);
+            dto.setThreadCount(threads);
+            dto.setIoBytesPerSecond(Math.round(ioRate));
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package OSHI.example.project.Collector;
+
+// Raw sensor readings from a single hardware.getSensors() pass
+public record SensorSample(double cpuTemperature, int[] fanSpeeds) {
+
+    // Used until the sensors collector has produced its first reading
+    public static final SensorSample EMPTY = new SensorSample(0.0, new int[0]);
+}
@@ -0,0 +1,19 @@
+package OSHI.example.project.Collector;
+
+import OSHI.example.project.DTO.DiskDTO;
+import OSHI.example.project.DTO.MemoryDetailsDTO;
+
+import java.util.List;
+
+// Everything the derived views need for one tick, read exactly once by the collectors.
+// Dashboard, alerts, status and fan views are pure functions of this struct.
+public record TickSample(
+        long timestamp,
+        CpuSample cpu,
+        MemoryDetailsDTO memory,
+        SensorSample sensors,
+        List<DiskDTO> disks,
+        int processCount,
+        long uptimeSeconds,
+        CollectorPlan plan) {
+}
@@ -2,12 +2,43 @@ package OSHI.example.project.Controller;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import OSHI.example.project.Collector.CapabilityProbe;
+import OSHI.example.project.Collector.CollectorPlan;
+import OSHI.example.project.Collector.HostProfile;
+import OSHI.example.project.Collector.ProcessRankings;
+import OSHI.example.project.Collector.ProcessSort;
+import OSHI.example.project.DTO.InsightDTO;
+import OSHI.example.project.DTO.ProcessInsightDTO;
+import OSHI.example.project.DTO.ProcessInsightRequest;
 import OSHI.example.project.DTO.SystemMetricsDTO;
-import OSHI.example.project.Service.SystemMonitoringService;
+import OSHI.example.project.Exception.InsightUnavailableException;
+import OSHI.example.project.History.HistorySeries;
+import OSHI.example.project.History.HistoryStats;
+import OSHI.example.project.History.ProcessHistory;
+import OSHI.example.project.History.MetricStore;
+import OSHI.example.project.Insight.InsightCacheStats;
+import OSHI.example.project.Insight.InsightService;
+import OSHI.example.project.Insight.ProcessInsightService;
+import OSHI.example.project.Prediction.AnomalyDetector;
+import OSHI.example.project.Prediction.Forecaster;
+import OSHI.example.project.Prediction.MemoryLeakDetector;
+import OSHI.example.project.Retention.CompactionReport;
+import OSHI.example.project.Retention.RetentionCompactor;
+import OSHI.example.project.Sampler.MetricsSampler;
+import OSHI.example.project.Sampler.MetricsSnapshot;
+import OSHI.example.project.Sink.PostgresMetricsSink;
+import OSHI.example.project.Sink.SinkStats;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/monitor")
@@ -16,77 +47,275 @@ import java.util.Map;
 public class SystemMonitorController {
     
     @Autowired
-    private SystemMonitoringService monitoringService;
+    private MetricsSampler metricsSampler;
+
+    @Autowired
+    private CapabilityProbe capabilityProbe;
+
+    @Autowired
+    private HostProfile hostProfile;
+
+    @Autowired
+    private MetricStore metricStore;
+
+    @Autowired
+    private PostgresMetricsSink metricsSink;
+
+    @Autowired
+    private ProcessHistory processHistory;
+
+    @Autowired
+    private Forecaster forecaster;
+
+    @Autowired
+    private AnomalyDetector anomalyDetector;
+
+    @Autowired
+    private MemoryLeakDetector memoryLeakDetector;
+
+    @Autowired
+    private RetentionCompactor retentionCompactor;
+
+    @Autowired
+    private InsightService insightService;
+
+    @Autowired
+    private ProcessInsightService processInsightService;
     
     @GetMapping("/metrics")
     public SystemMetricsDTO getSystemMetrics() {
-        return monitoringService.getSystemMetrics();
+        return metricsSampler.getMetrics();
     }
     
+    // Static for the lifetime of the process, so clients can cache it for a long time
+    @GetMapping("/host")
+    public ResponseEntity<HostProfile> getHostProfile() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic())
+                .body(hostProfile);
+    }
+    
+    // Dashboard, cpu and memory are null until their collector has produced a good value (first
+    // tick timed out, or in backoff), so these responses are built in a map that accepts nulls
+    // and carry the stale collectors alongside
     @GetMapping("/dashboard")
     public Map<String, Object> getDashboardMetrics() {
-        SystemMetricsDTO metrics = monitoringService.getSystemMetrics();
-        return Map.of(
-            "dashboard", metrics.getDashboard(),
-            "alerts", metrics.getAlerts(),
-            "timestamp", metrics.getSystemInfo().getTimestamp()
-        );
+        SystemMetricsDTO metrics = metricsSampler.getMetrics();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("dashboard", metrics.getDashboard());
+        body.put("alerts", metrics.getAlerts());
+        body.put("staleCollectors", metrics.getStaleCollectors());
+        body.put("timestamp", metrics.getTimestamp());
+        return body;
     }
     
     @GetMapping("/cpu")
     public Map<String, Object> getCpuMetrics() {
-        SystemMetricsDTO metrics = monitoringService.getSystemMetrics();
-        return Map.of(
-            "cpu", metrics.getCpu(),
-            "timestamp", metrics.getSystemInfo().getTimestamp()
-        );
+        SystemMetricsDTO metrics = metricsSampler.getMetrics();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("cpu", metrics.getCpu());
+        body.put("staleCollectors", metrics.getStaleCollectors());
+        body.put("timestamp", metrics.getTimestamp());
+        return body;
     }
     
     @GetMapping("/memory")
     public Map<String, Object> getMemoryMetrics() {
-        SystemMetricsDTO metrics = monitoringService.getSystemMetrics();
-        return Map.of(
-            "memory", metrics.getMemory(),
-            "timestamp", metrics.getSystemInfo().getTimestamp()
-        );
+        SystemMetricsDTO metrics = metricsSampler.getMetrics();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("memory", metrics.getMemory());
+        body.put("staleCollectors", metrics.getStaleCollectors());
+        body.put("timestamp", metrics.getTimestamp());
+        return body;
     }
     
     @GetMapping("/disks")
     public Map<String, Object> getDiskMetrics() {
-        SystemMetricsDTO metrics = monitoringService.getSystemMetrics();
+        SystemMetricsDTO metrics = metricsSampler.getMetrics();
         return Map.of(
             "disks", metrics.getDisks(),
-            "timestamp", metrics.getSystemInfo().getTimestamp()
+            "diskIo", metrics.getDiskIo(),
+            "timestamp", metrics.getTimestamp()
         );
     }
     
     @GetMapping("/processes")
-    public Map<String, Object> getProcessMetrics() {
-        SystemMetricsDTO metrics = monitoringService.getSystemMetrics();
+    public Map<String, Object> getProcessMetrics(
+            @RequestParam(defaultValue = "cpu") String sort,
+            @RequestParam(defaultValue = "10") int limit) {
+        ProcessSort processSort = ProcessSort.fromParam(sort);
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        MetricsSnapshot snapshot = metricsSampler.getSnapshot();
+        ProcessRankings rankings = snapshot.processRankings();
+        return Map.of(
+            "processes", rankings.top(processSort, limit),
+            "sort", processSort.name().toLowerCase(Locale.ROOT),
+            "limit", Math.min(limit, rankings.getCapacity()),
+            "trackedProcesses", rankings.getTrackedProcesses(),
+            "timestamp", snapshot.metrics().getTimestamp()
+        );
+    }
+    
+    // Every recorded instance of the PID; more than one when the PID has been reused
+    @GetMapping("/processes/{pid}/history")
+    public Map<String, Object> getProcessHistory(
+            @PathVariable int pid,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to) {
+        return Map.of(
+            "pid", pid,
+            "instances", processHistory.getHistory(pid, from != null ? from : 0L,
+                    to != null ? to : Long.MAX_VALUE)
+        );
+    }
+
+    // "What was eating memory at 03:00?": the recorded top processes at a past moment
+    @GetMapping("/processes/history")
+    public Map<String, Object> getProcessesAt(
+            @RequestParam long at,
+            @RequestParam(defaultValue = "cpu") String sort,
+            @RequestParam(defaultValue = "10") int limit) {
+        ProcessSort processSort = ProcessSort.fromParam(sort);
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Map.of(
+            "processes", processHistory.topAt(at, processSort, limit),
+            "sort", processSort.name().toLowerCase(Locale.ROOT),
+            "timestamp", at
+        );
+    }
+    
+    // Processes whose RSS has grown steadily for a while, fastest growing first
+    @GetMapping("/processes/leaks")
+    public Map<String, Object> getLeakSuspects(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
         return Map.of(
-            "processes", metrics.getProcesses(),
-            "timestamp", metrics.getSystemInfo().getTimestamp()
+            "suspects", memoryLeakDetector.getSuspects(limit),
+            "timestamp", System.currentTimeMillis()
         );
     }
     
     @GetMapping("/networks")
     public Map<String, Object> getNetworkMetrics() {
-        SystemMetricsDTO metrics = monitoringService.getSystemMetrics();
+        SystemMetricsDTO metrics = metricsSampler.getMetrics();
         return Map.of(
             "networks", metrics.getNetworks(),
-            "timestamp", metrics.getSystemInfo().getTimestamp()
+            "timestamp", metrics.getTimestamp()
         );
     }
     
 
 
 
+    @GetMapping("/collectors")
+    public Map<String, Object> getCollectorStatus() {
+        MetricsSnapshot snapshot = metricsSampler.getSnapshot();
+        return Map.of(
+            "version", snapshot.version(),
+            "collectors", snapshot.collectors(),
+            "timestamp", snapshot.timestamp()
+        );
+    }
+
+    @GetMapping("/capabilities")
+    public CollectorPlan getCapabilities() {
+        return capabilityProbe.getPlan();
+    }
+
+    // Defaults to the last hour of raw samples; a step (ms) of a minute or more is served from the
+    // coarsest rollup tier that fits it, with min/max/p95 per bucket
+    @GetMapping("/history")
+    public HistorySeries getHistory(
+            @RequestParam String metric,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "0") long step) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - TimeUnit.HOURS.toMillis(1);
+        return metricStore.query(metric, start, end, step);
+    }
+
+    @GetMapping("/history/metrics")
+    public List<String> getHistoryMetrics() {
+        return metricStore.getMetricNames();
+    }
+
+    @GetMapping("/history/stats")
+    public HistoryStats getHistoryStats() {
+        return metricStore.getStats();
+    }
+
+    @GetMapping("/sink")
+    public SinkStats getSinkStats() {
+        return metricsSink.getStats();
+    }
+
+    // Null until the first compaction pass has run
+    @GetMapping("/retention")
+    public ResponseEntity<CompactionReport> getRetentionReport() {
+        CompactionReport report = retentionCompactor.getLastReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/predictions")
+    public Map<String, Object> getPredictions() {
+        return Map.of(
+            "predictions", forecaster.getPredictions(),
+            "meanUpdateNanos", forecaster.getMeanUpdateNanos(),
+            "timestamp", System.currentTimeMillis()
+        );
+    }
+
+    @GetMapping("/anomalies")
+    public Map<String, Object> getAnomalies() {
+        return Map.of(
+            "anomalies", anomalyDetector.getRecentAnomalies(),
+            "timestamp", System.currentTimeMillis()
+        );
+    }
+
+    // Shared by every client while the snapshot stays in the same load buckets
+    @GetMapping("/insights")
+    public InsightDTO getInsights() {
+        return insightService.getSystemInsight();
+    }
+
+    // One model call for every listed process that has no cached answer for its current load
+    @PostMapping("/insights/processes")
+    public List<ProcessInsightDTO> getProcessInsights(@RequestBody ProcessInsightRequest request) {
+        return processInsightService.analyze(request.getPids());
+    }
+
+    @GetMapping("/insights/stats")
+    public Map<String, InsightCacheStats> getInsightStats() {
+        return Map.of(
+            "system", insightService.getStats(),
+            "processes", processInsightService.getStats()
+        );
+    }
+
     @GetMapping("/alerts")
     public Map<String, Object> getSystemAlerts() {
-        SystemMetricsDTO metrics = monitoringService.getSystemMetrics();
+        SystemMetricsDTO metrics = metricsSampler.getMetrics();
         return Map.of(
             "alerts", metrics.getAlerts(),
-            "timestamp", metrics.getSystemInfo().getTimestamp()
+            "timestamp", metrics.getTimestamp()
         );
-    }   
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    // The insight model is unavailable or misconfigured
+    @ExceptionHandler(InsightUnavailableException.class)
+    public ResponseEntity<String> handleInsightUnavailableException(InsightUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
 }
\ No newline at end of file
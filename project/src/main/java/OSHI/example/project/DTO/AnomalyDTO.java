@@ -0,0 +1,13 @@
+package OSHI.example.project.DTO;
+
+import lombok.Data;
+
+@Data
+public class AnomalyDTO {
+    private String metric;
+    private long timestamp;
+    private double value;
+    private double baseline;
+    private double zScore;
+    private String level;
+}
@@ -12,4 +12,7 @@ public class DiskDTO {
     private long usedSpace;
     private double usagePercentage;
     private String status;
+    // Null while free space isn't trending down or too few samples have been seen
+    private Long projectedFullAt;
+    private double projectionConfidence;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package OSHI.example.project.DTO;
+
+import lombok.Data;
+
+@Data
+public class DiskIoDTO {
+    private String name;
+    private String model;
+    private double readsPerSecond;
+    private double writesPerSecond;
+    private double iops;
+    private long readBytesPerSecond;
+    private long writeBytesPerSecond;
+    // Share of wall time the device had I/O in flight
+    private double busyPercentage;
+    private long queueLength;
+    private double averageQueueDepth;
+}
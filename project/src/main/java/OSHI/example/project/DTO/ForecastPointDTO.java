@@ -0,0 +1,13 @@
+package OSHI.example.project.DTO;
+
+import lombok.Data;
+
+@Data
+public class ForecastPointDTO {
+    private long horizonMs;
+    private long timestamp;
+    private double value;
+    // Prediction interval at the configured confidence
+    private double lower;
+    private double upper;
+}
@@ -0,0 +1,17 @@
+package OSHI.example.project.DTO;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class InsightDTO {
+    private int healthScore;
+    private String summary;
+    private List<String> insights;
+    private List<String> recommendations;
+    private List<String> predictions;
+    private List<String> bottlenecks;
+    // Client that produced the answer, and when; identical for every reader of a cached answer
+    private String model;
+    private long generatedAt;
+}
@@ -0,0 +1,14 @@
+package OSHI.example.project.DTO;
+
+import lombok.Data;
+
+@Data
+public class LeakSuspectDTO {
+    private int pid;
+    private long startTime;
+    private String name;
+    private long rss;
+    private double growthBytesPerHour;
+    private double confidence;
+    private long observedMs;
+}
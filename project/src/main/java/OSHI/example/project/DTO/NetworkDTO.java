@@ -8,6 +8,12 @@ public class NetworkDTO {
     private String displayName;
     private long bytesSent;
     private long bytesReceived;
+    // Bytes per second
     private long uploadSpeed;
     private long downloadSpeed;
+    private double packetsSentPerSecond;
+    private double packetsReceivedPerSecond;
+    private double inErrorsPerSecond;
+    private double outErrorsPerSecond;
+    private double inDropsPerSecond;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package OSHI.example.project.DTO;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class PredictionDTO {
+    private String metric;
+    private double currentValue;
+    private long lastSampleAt;
+    private double trendPerMinute;
+    private List<ForecastPointDTO> forecasts;
+}
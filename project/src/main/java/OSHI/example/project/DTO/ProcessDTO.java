@@ -5,9 +5,12 @@ import lombok.Data;
 @Data
 public class ProcessDTO {
     private int pid;
+    // Together with pid, identifies one process instance across PID reuse
+    private long startTime;
     private String name;
     private double cpuUsage;
     private long memoryUsage;
     private String state;
     private int threadCount;
+    private long ioBytesPerSecond;
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package OSHI.example.project.DTO;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class ProcessInsightDTO {
+    private int pid;
+    private long startTime;
+    private String name;
+    private List<ProcessPredictionDTO> predictions;
+    private String model;
+    private long generatedAt;
+}
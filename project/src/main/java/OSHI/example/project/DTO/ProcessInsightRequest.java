@@ -0,0 +1,9 @@
+package OSHI.example.project.DTO;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class ProcessInsightRequest {
+    private List<Integer> pids;
+}
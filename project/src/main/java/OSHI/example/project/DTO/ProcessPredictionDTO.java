@@ -0,0 +1,15 @@
+package OSHI.example.project.DTO;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class ProcessPredictionDTO {
+    private String type;
+    private int confidence;
+    private String message;
+    private String severity;
+    private String predictionTimeframe;
+    private String suggestedAction;
+    private List<String> probabilityFactors;
+}
@@ -1,6 +1,7 @@
 package OSHI.example.project.DTO;
 
 import lombok.Data;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -10,8 +11,11 @@ public class SystemMetricsDTO {
     private CpuDetailsDTO cpu;
     private MemoryDetailsDTO memory;
     private List<DiskDTO> disks;
+    private List<DiskIoDTO> diskIo;
     private List<NetworkDTO> networks;
     private List<ProcessDTO> processes;
     private List<AlertDTO> alerts;
-    private SystemInfoDTO systemInfo;
+    private Date timestamp;
+    // Collectors currently serving their last good value, with that value's age in ms
+    private Map<String, Long> staleCollectors;
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package OSHI.example.project.Exception;
+
+// The insight model could not be reached, is not configured, or gave an answer that can't be used
+public class InsightUnavailableException extends RuntimeException {
+    public InsightUnavailableException(String message) {
+        super(message);
+    }
+
+    public InsightUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
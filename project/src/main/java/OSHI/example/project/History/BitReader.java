@@ -0,0 +1,30 @@
+package OSHI.example.project.History;
+
+// Sequential reader for streams produced by BitWriter
+final class BitReader {
+
+    private final byte[] bytes;
+    private long position;
+
+    BitReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    long readBits(int bits) {
+        long value = 0;
+        while (bits > 0) {
+            int byteIndex = (int) (position >>> 3);
+            int availableInByte = 8 - (int) (position & 7);
+            int take = Math.min(availableInByte, bits);
+            int chunk = (bytes[byteIndex] >>> (availableInByte - take)) & ((1 << take) - 1);
+            value = (value << take) | chunk;
+            bits -= take;
+            position += take;
+        }
+        return value;
+    }
+}
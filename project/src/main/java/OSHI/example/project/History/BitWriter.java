@@ -0,0 +1,52 @@
+package OSHI.example.project.History;
+
+import java.util.Arrays;
+
+// Append-only bit stream over a growable byte array, most significant bit first
+final class BitWriter {
+
+    private byte[] bytes;
+    private long bitCount;
+
+    BitWriter(int initialBytes) {
+        this.bytes = new byte[Math.max(initialBytes, 8)];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    // Writes the low `bits` bits of value
+    void writeBits(long value, int bits) {
+        ensureCapacity(bitCount + bits);
+        while (bits > 0) {
+            int byteIndex = (int) (bitCount >>> 3);
+            int freeInByte = 8 - (int) (bitCount & 7);
+            int take = Math.min(freeInByte, bits);
+            int chunk = (int) ((value >>> (bits - take)) & ((1 << take) - 1));
+            bytes[byteIndex] |= (byte) (chunk << (freeInByte - take));
+            bits -= take;
+            bitCount += take;
+        }
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    // The live buffer; only valid up to bitCount and replaced when it grows
+    byte[] buffer() {
+        return bytes;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, (int) ((bitCount + 7) >>> 3));
+    }
+
+    private void ensureCapacity(long bits) {
+        int needed = (int) ((bits + 7) >>> 3);
+        if (needed > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(needed, bytes.length * 2));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package OSHI.example.project.History;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Running encode/decode cost of the raw tier, shared by every series
+final class CodecStats {
+
+    final LongAdder encodedSamples = new LongAdder();
+    final LongAdder encodeNanos = new LongAdder();
+    final LongAdder decodedSamples = new LongAdder();
+    final LongAdder decodeNanos = new LongAdder();
+}
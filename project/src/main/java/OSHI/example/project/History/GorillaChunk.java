@@ -0,0 +1,13 @@
+package OSHI.example.project.History;
+
+// Sealed, immutable run of Gorilla-encoded samples
+record GorillaChunk(byte[] data, int count, long firstTimestamp, long lastTimestamp) {
+
+    GorillaDecoder decoder() {
+        return new GorillaDecoder(data, count);
+    }
+
+    int sizeBytes() {
+        return data.length;
+    }
+}
@@ -0,0 +1,86 @@
+package OSHI.example.project.History;
+
+// Streaming decoder for a Gorilla chunk: next() advances one sample and the current timestamp
+// and value are read off the cursor, so scanning a chunk never materialises arrays.
+final class GorillaDecoder {
+
+    private final BitReader in;
+    private final int count;
+    private int read;
+    private long timestamp;
+    private long delta;
+    private long valueBits;
+    private int leading;
+    private int trailing;
+
+    GorillaDecoder(byte[] data, int count) {
+        this.in = new BitReader(data);
+        this.count = count;
+    }
+
+    boolean next() {
+        if (read >= count) {
+            return false;
+        }
+        if (read == 0) {
+            timestamp = in.readBits(64);
+            valueBits = in.readBits(64);
+        } else {
+            readTimestamp();
+            readValue();
+        }
+        read++;
+        return true;
+    }
+
+    long timestamp() {
+        return timestamp;
+    }
+
+    double value() {
+        return Double.longBitsToDouble(valueBits);
+    }
+
+    private void readTimestamp() {
+        long deltaOfDelta;
+        if (!in.readBit()) {
+            deltaOfDelta = 0;
+        } else if (!in.readBit()) {
+            deltaOfDelta = signExtend(in.readBits(7), 7);
+        } else if (!in.readBit()) {
+            deltaOfDelta = signExtend(in.readBits(9), 9);
+        } else if (!in.readBit()) {
+            deltaOfDelta = signExtend(in.readBits(12), 12);
+        } else {
+            deltaOfDelta = in.readBits(64);
+        }
+        delta += deltaOfDelta;
+        timestamp += delta;
+    }
+
+    private void readValue() {
+        if (!in.readBit()) {
+            return;
+        }
+        if (in.readBit()) {
+            leading = (int) in.readBits(5);
+            int meaningful = (int) in.readBits(6);
+            if (meaningful == 0) {
+                meaningful = 64;
+            }
+            trailing = 64 - leading - meaningful;
+        }
+        int meaningful = 64 - leading - trailing;
+        valueBits ^= in.readBits(meaningful) << trailing;
+    }
+
+    // The encoder writes two's complement truncated to `bits`; bucket ranges are asymmetric
+    // (e.g. -63..64 in 7 bits), so the top of the range is read back as its positive value
+    private static long signExtend(long raw, int bits) {
+        long half = 1L << (bits - 1);
+        if (raw > half) {
+            return raw - (1L << bits);
+        }
+        return raw;
+    }
+}
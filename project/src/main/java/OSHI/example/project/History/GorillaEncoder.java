@@ -0,0 +1,108 @@
+package OSHI.example.project.History;
+
+// Incremental encoder for one chunk, following Facebook's Gorilla paper: timestamps as
+// delta-of-delta with variable-width buckets, values as the XOR against the previous value
+// storing only its meaningful bits. A regular 1s cadence costs one bit per timestamp and an
+// unchanged value one bit per value.
+final class GorillaEncoder {
+
+    private final BitWriter out;
+    private int count;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private long lastDelta;
+    private long lastValueBits;
+    private int lastLeading = Integer.MAX_VALUE;
+    private int lastTrailing;
+
+    GorillaEncoder(int expectedSamples) {
+        this.out = new BitWriter(expectedSamples * 2);
+    }
+
+    void append(long timestamp, double value) {
+        long valueBits = Double.doubleToRawLongBits(value);
+        if (count == 0) {
+            out.writeBits(timestamp, 64);
+            out.writeBits(valueBits, 64);
+            firstTimestamp = timestamp;
+        } else {
+            writeTimestamp(timestamp);
+            writeValue(valueBits);
+        }
+        lastTimestamp = timestamp;
+        lastValueBits = valueBits;
+        count++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    long sizeBytes() {
+        return (out.bitCount() + 7) >>> 3;
+    }
+
+    // Decodes what has been written so far, for queries that reach into the open chunk
+    GorillaDecoder decoder() {
+        return new GorillaDecoder(out.buffer(), count);
+    }
+
+    GorillaChunk seal() {
+        return new GorillaChunk(out.toByteArray(), count, firstTimestamp, lastTimestamp);
+    }
+
+    private void writeTimestamp(long timestamp) {
+        long delta = timestamp - lastTimestamp;
+        long deltaOfDelta = delta - lastDelta;
+        lastDelta = delta;
+        if (deltaOfDelta == 0) {
+            out.writeBit(false);
+        } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+            out.writeBits(0b10, 2);
+            out.writeBits(deltaOfDelta, 7);
+        } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+            out.writeBits(0b110, 3);
+            out.writeBits(deltaOfDelta, 9);
+        } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+            out.writeBits(0b1110, 4);
+            out.writeBits(deltaOfDelta, 12);
+        } else {
+            out.writeBits(0b1111, 4);
+            out.writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    private void writeValue(long valueBits) {
+        long xor = valueBits ^ lastValueBits;
+        if (xor == 0) {
+            out.writeBit(false);
+            return;
+        }
+        out.writeBit(true);
+        // Leading zeros are stored in 5 bits
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (lastLeading != Integer.MAX_VALUE && leading >= lastLeading && trailing >= lastTrailing) {
+            // Fits in the previous meaningful window
+            out.writeBit(false);
+            out.writeBits(xor >>> lastTrailing, 64 - lastLeading - lastTrailing);
+        } else {
+            int meaningful = 64 - leading - trailing;
+            out.writeBit(true);
+            out.writeBits(leading, 5);
+            // 64 meaningful bits doesn't fit in 6 bits and is written as 0
+            out.writeBits(meaningful & 63, 6);
+            out.writeBits(xor >>> trailing, meaningful);
+            lastLeading = leading;
+            lastTrailing = trailing;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package OSHI.example.project.History;
+
+// Outcome of one compaction pass over the in-memory history
+public record HistoryCompaction(long bytesReclaimed, int chunksMerged, int bucketsExpired) {
+}
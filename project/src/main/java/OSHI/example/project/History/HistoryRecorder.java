@@ -0,0 +1,23 @@
+package OSHI.example.project.History;
+
+import OSHI.example.project.Sampler.MetricsSnapshot;
+import OSHI.example.project.Sampler.SnapshotListener;
+import org.springframework.stereotype.Component;
+
+// Feeds the metric store from published snapshots
+@Component
+public class HistoryRecorder implements SnapshotListener {
+
+    private final MetricStore store;
+    // Only touched from the sampler thread
+    private final SeriesExtractor extractor = new SeriesExtractor();
+
+    public HistoryRecorder(MetricStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void onSnapshot(MetricsSnapshot snapshot) {
+        extractor.extract(snapshot, store::record);
+    }
+}
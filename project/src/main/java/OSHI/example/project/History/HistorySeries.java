@@ -0,0 +1,17 @@
+package OSHI.example.project.History;
+
+// Answer to a history query: parallel arrays of timestamps (epoch ms) and values. With a
+// positive step each timestamp is the start of a step-aligned bucket and the value its average.
+// Resolution names the tier that answered; min, max and p95 are only filled by rollup tiers.
+public record HistorySeries(
+        String metric,
+        String resolution,
+        long from,
+        long to,
+        long step,
+        long[] timestamps,
+        double[] values,
+        double[] min,
+        double[] max,
+        double[] p95) {
+}
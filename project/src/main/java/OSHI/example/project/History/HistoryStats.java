@@ -0,0 +1,14 @@
+package OSHI.example.project.History;
+
+// Footprint and codec cost of the raw tier. Compression ratio is against 16 bytes per sample
+// (a long timestamp plus a double value).
+public record HistoryStats(
+        int series,
+        long samples,
+        long sealedChunks,
+        long compressedBytes,
+        double bytesPerSample,
+        double compressionRatio,
+        double encodeNanosPerSample,
+        double decodeNanosPerSample) {
+}
@@ -0,0 +1,62 @@
+package OSHI.example.project.History;
+
+// One metric at every resolution: the compressed raw tier plus the 1-minute and 1-hour rollups.
+// Raw samples feed the minute tier directly; each minute bucket is folded into the hour tier when
+// it closes, so the hour tier trails the raw data by at most one minute.
+final class MetricSeries {
+
+    static final long MINUTE_MS = 60_000L;
+    static final long HOUR_MS = 3_600_000L;
+
+    private final RawSeries raw;
+    private final RollupTier minutes;
+    private final RollupTier hours;
+
+    MetricSeries(RawSeries raw, int minuteCapacity, int hourCapacity) {
+        this.raw = raw;
+        this.minutes = new RollupTier("1m", MINUTE_MS, minuteCapacity);
+        this.hours = new RollupTier("1h", HOUR_MS, hourCapacity);
+    }
+
+    // False when the raw tier rejected the sample as out of order
+    boolean record(long timestamp, double value) {
+        if (!raw.append(timestamp, value)) {
+            return false;
+        }
+        int closed = minutes.add(timestamp, value);
+        if (closed >= 0) {
+            hours.absorb(minutes, closed);
+        }
+        return true;
+    }
+
+    // Coarsest tier whose bucket width still fits inside the requested step, so a month at 1h
+    // reads ~720 buckets instead of millions of raw points. A tier with nothing in it yet (right
+    // after startup) falls through to the next finer one.
+    HistorySeries query(String metric, long from, long to, long step, SegmentStore segments) {
+        if (step >= hours.getWidthMs() && !hours.isEmpty()) {
+            return hours.query(metric, from, to, step);
+        }
+        if (step >= minutes.getWidthMs() && !minutes.isEmpty()) {
+            return minutes.query(metric, from, to, step);
+        }
+        // Older than what is held in memory, typically right after a restart: read the persisted
+        // segments instead
+        if (segments.isEnabled() && from < raw.oldestTimestamp()) {
+            return segments.query(metric, from, to, step);
+        }
+        return raw.query(metric, from, to, step);
+    }
+
+    RollupTier minutes() {
+        return minutes;
+    }
+
+    RollupTier hours() {
+        return hours;
+    }
+
+    RawSeries raw() {
+        return raw;
+    }
+}
@@ -0,0 +1,154 @@
+package OSHI.example.project.History;
+
+import OSHI.example.project.Retention.RetentionPolicy;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Server-side history of every recorded metric: a Gorilla-compressed raw tier plus 1m and 1h
+// rollups per series, with every raw sample also appended to the mapped segment files. Written
+// only by the sampler thread through HistoryRecorder; read by request threads.
+@Component
+public class MetricStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricStore.class);
+
+    private final ConcurrentHashMap<String, MetricSeries> series = new ConcurrentHashMap<>();
+    private final CodecStats codecStats = new CodecStats();
+    private final SegmentStore segmentStore;
+    private final RetentionPolicy retentionPolicy;
+
+    @Value("${monitor.history.capacity:86400}")
+    private int capacity;
+
+    @Value("${monitor.history.chunk-samples:120}")
+    private int chunkSamples;
+
+    @Value("${monitor.history.value-fraction-bits:7}")
+    private int valueFractionBits;
+
+    @Value("${monitor.retention.merged-chunk-samples:3600}")
+    private int mergedChunkSamples;
+
+    @Value("${monitor.history.persist.replay-hours:24}")
+    private long replayHours;
+
+    public MetricStore(SegmentStore segmentStore, RetentionPolicy retentionPolicy) {
+        this.segmentStore = segmentStore;
+        this.retentionPolicy = retentionPolicy;
+    }
+
+    // Rebuilds the in-memory tiers from the persisted segments before the sampler starts
+    @PostConstruct
+    public void replay() {
+        if (!segmentStore.isEnabled()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        long from = started - replayHours * 3_600_000L;
+        long[] replayed = new long[1];
+        segmentStore.replay(from, (metric, timestamp, value) -> {
+            if (seriesFor(metric).record(timestamp, value)) {
+                replayed[0]++;
+            }
+        });
+        if (replayed[0] > 0) {
+            log.info("Replayed {} persisted history samples in {} ms", replayed[0],
+                    System.currentTimeMillis() - started);
+        }
+    }
+
+    public void record(String metric, long timestamp, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        double quantized = quantize(value);
+        if (seriesFor(metric).record(timestamp, quantized)) {
+            segmentStore.append(metric, timestamp, quantized);
+        }
+    }
+
+    public HistorySeries query(String metric, long from, long to, long step) {
+        MetricSeries metricSeries = series.get(metric);
+        if (metricSeries == null) {
+            throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+        if (from > to) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return metricSeries.query(metric, from, to, step, segmentStore);
+    }
+
+    public HistoryStats getStats() {
+        int seriesCount = 0;
+        long samples = 0;
+        long bytes = 0;
+        long chunks = 0;
+        for (MetricSeries metricSeries : series.values()) {
+            RawSeries raw = metricSeries.raw();
+            seriesCount++;
+            samples += raw.samples();
+            bytes += raw.sizeBytes();
+            chunks += raw.sealedChunks();
+        }
+        return new HistoryStats(seriesCount, samples, chunks, bytes,
+                samples > 0 ? (double) bytes / samples : 0.0,
+                bytes > 0 ? samples * 16.0 / bytes : 0.0,
+                perSample(codecStats.encodeNanos.sum(), codecStats.encodedSamples.sum()),
+                perSample(codecStats.decodeNanos.sum(), codecStats.decodedSamples.sum()));
+    }
+
+    // Expires every in-memory tier against its retention and merges small raw chunks. Runs on the
+    // compactor thread; each series is locked only briefly, so the sampler keeps recording.
+    public HistoryCompaction compact(long now) {
+        long bytesReclaimed = 0;
+        int chunksMerged = 0;
+        int bucketsExpired = 0;
+        for (MetricSeries metricSeries : series.values()) {
+            RawSeries raw = metricSeries.raw();
+            bytesReclaimed += raw.expire(now - retentionPolicy.getRawMs());
+            RawSeries.ChunkMerge merge = raw.mergeChunks(mergedChunkSamples);
+            chunksMerged += merge.chunksMerged();
+            bytesReclaimed += merge.bytesSaved();
+            bucketsExpired += metricSeries.minutes().expire(now - retentionPolicy.getMinuteMs());
+            bucketsExpired += metricSeries.hours().expire(now - retentionPolicy.getHourMs());
+        }
+        return new HistoryCompaction(bytesReclaimed, chunksMerged, bucketsExpired);
+    }
+
+    public List<String> getMetricNames() {
+        List<String> names = new ArrayList<>(series.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    private MetricSeries seriesFor(String metric) {
+        return series.computeIfAbsent(metric, name -> new MetricSeries(
+                new RawSeries(capacity, chunkSamples, codecStats),
+                // Rollup rings hold exactly their retention window
+                (int) (retentionPolicy.getMinuteMs() / MetricSeries.MINUTE_MS) + 1,
+                (int) (retentionPolicy.getHourMs() / MetricSeries.HOUR_MS) + 1));
+    }
+
+    // Snaps the value to a multiple of 2^-bits. Full-precision readings like 23.4817... differ from
+    // their predecessor in nearly every mantissa bit, which defeats XOR encoding; on a binary grid
+    // the trailing mantissa bits are zero and consecutive values share most of their bits.
+    private double quantize(double value) {
+        if (valueFractionBits < 0) {
+            return value;
+        }
+        double scale = Math.scalb(1.0, valueFractionBits);
+        return Math.rint(value * scale) / scale;
+    }
+
+    private static double perSample(long nanos, long samples) {
+        return samples > 0 ? (double) nanos / samples : 0.0;
+    }
+}
@@ -0,0 +1,283 @@
+package OSHI.example.project.History;
+
+import OSHI.example.project.Collector.ProcessSampleListener;
+import OSHI.example.project.Collector.ProcessSort;
+import OSHI.example.project.DTO.ProcessDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// CPU, RSS and thread-count history for every process that has ever made the top-N of any
+// ranking. Once in, a process is recorded on every sample until it exits, so its history doesn't
+// have holes while it dips out of the top. Instances are keyed by (pid, startTime), so a reused
+// PID starts a new history. Each instance holds its name once rather than per sample, so it goes
+// with the instance when that is evicted. Exited processes are evicted after dead-retention-ms,
+// and the oldest exited ones go first whenever more than max-processes are held.
+//
+// Each instance keeps its last `capacity` samples at full resolution (an hour by default) and
+// folds every finished minute into a bucket (average CPU, peak RSS and threads), of which
+// minute-capacity are kept (a day by default). Queries older than the raw samples are answered
+// from the minute buckets, so "what was eating memory at 03:00?" still works in the morning.
+//
+// Written from the process collector's thread, read by request threads.
+@Component
+public class ProcessHistory implements ProcessSampleListener {
+
+    private final Map<ProcessKey, ProcessRing> processes = new HashMap<>();
+    private long sampleAt;
+
+    @Value("${monitor.process.history.top-n:10}")
+    private int topN;
+
+    @Value("${monitor.process.history.capacity:720}")
+    private int capacity;
+
+    @Value("${monitor.process.history.minute-capacity:1440}")
+    private int minuteCapacity;
+
+    @Value("${monitor.process.history.dead-retention-ms:86400000}")
+    private long deadRetentionMs;
+
+    @Value("${monitor.process.history.max-processes:500}")
+    private int maxProcesses;
+
+    @Value("${monitor.process.history.stale-after-ms:15000}")
+    private long staleAfterMs;
+
+    private record ProcessKey(int pid, long startTime) {
+    }
+
+    @Override
+    public synchronized void beginSample(long timestamp) {
+        sampleAt = timestamp;
+    }
+
+    @Override
+    public synchronized void process(int pid, long startTime, String name, double cpuPercent, long rss, int threads,
+                                     int bestRank) {
+        ProcessKey key = new ProcessKey(pid, startTime);
+        ProcessRing ring = processes.get(key);
+        if (ring == null) {
+            if (bestRank >= topN) {
+                return;
+            }
+            ring = new ProcessRing(pid, startTime, capacity, minuteCapacity);
+            processes.put(key, ring);
+        }
+        ring.name = name;
+        ring.append(sampleAt, cpuPercent, rss, threads);
+    }
+
+    @Override
+    public synchronized void endSample(long timestamp) {
+        processes.values().removeIf(ring -> ring.lastSeen < timestamp - deadRetentionMs);
+        if (processes.size() > maxProcesses) {
+            // Live processes were all just seen, so the oldest lastSeen are the longest dead
+            List<ProcessRing> byLastSeen = new ArrayList<>(processes.values());
+            byLastSeen.sort(Comparator.comparingLong(ring -> ring.lastSeen));
+            for (int i = 0; i < byLastSeen.size() - maxProcesses; i++) {
+                ProcessRing ring = byLastSeen.get(i);
+                processes.remove(new ProcessKey(ring.pid, ring.startTime));
+            }
+        }
+    }
+
+    // Every recorded instance of pid, oldest first, limited to [from, to]
+    public synchronized List<ProcessHistorySeries> getHistory(int pid, long from, long to) {
+        List<ProcessHistorySeries> result = new ArrayList<>();
+        for (ProcessRing ring : processes.values()) {
+            if (ring.pid == pid) {
+                result.add(ring.toSeries(sampleAt, from, to));
+            }
+        }
+        result.sort(Comparator.comparingLong(ProcessHistorySeries::startTime));
+        return result;
+    }
+
+    // The top processes as they were at a past moment, from each instance's last sample at or
+    // before it. Samples older than stale-after-ms before that moment don't count as running then.
+    public synchronized List<ProcessDTO> topAt(long timestamp, ProcessSort sort, int limit) {
+        if (sort == ProcessSort.IO) {
+            throw new IllegalArgumentException("I/O is not recorded in process history");
+        }
+        List<ProcessDTO> candidates = new ArrayList<>();
+        for (ProcessRing ring : processes.values()) {
+            ProcessDTO dto = new ProcessDTO();
+            if (ring.fill(dto, timestamp, staleAfterMs)) {
+                dto.setName(ring.name);
+                candidates.add(dto);
+            }
+        }
+        Comparator<ProcessDTO> order = switch (sort) {
+            case CPU -> Comparator.comparingDouble(ProcessDTO::getCpuUsage);
+            case RSS -> Comparator.comparingLong(ProcessDTO::getMemoryUsage);
+            default -> Comparator.comparingInt(ProcessDTO::getThreadCount);
+        };
+        candidates.sort(order.reversed());
+        return candidates.subList(0, Math.min(limit, candidates.size()));
+    }
+
+    // One process instance: a fixed-capacity ring of raw samples and a ring of minute buckets,
+    // both in parallel primitive arrays
+    private static final class ProcessRing {
+        private static final long MINUTE_MS = 60_000L;
+
+        private final int pid;
+        private final long startTime;
+        private final SampleRing raw;
+        private final SampleRing minutes;
+        private String name;
+        private long lastSeen;
+
+        // Minute currently being folded
+        private long bucketStart = -1;
+        private double bucketCpuSum;
+        private int bucketCount;
+        private long bucketRss;
+        private int bucketThreads;
+
+        private ProcessRing(int pid, long startTime, int capacity, int minuteCapacity) {
+            this.pid = pid;
+            this.startTime = startTime;
+            this.raw = new SampleRing(capacity);
+            this.minutes = new SampleRing(minuteCapacity);
+        }
+
+        private void append(long timestamp, double cpuPercent, long residentSet, int threadCount) {
+            raw.append(timestamp, cpuPercent, residentSet, threadCount);
+            long minute = timestamp - timestamp % MINUTE_MS;
+            if (minute != bucketStart) {
+                closeBucket();
+                bucketStart = minute;
+            }
+            bucketCpuSum += cpuPercent;
+            bucketCount++;
+            bucketRss = Math.max(bucketRss, residentSet);
+            bucketThreads = Math.max(bucketThreads, threadCount);
+            lastSeen = timestamp;
+        }
+
+        private void closeBucket() {
+            if (bucketCount > 0) {
+                minutes.append(bucketStart, bucketCpuSum / bucketCount, bucketRss, bucketThreads);
+            }
+            bucketCpuSum = 0;
+            bucketCount = 0;
+            bucketRss = 0;
+            bucketThreads = 0;
+        }
+
+        // The instance as it was at timestamp, from the newest raw sample at or before it, or from
+        // its minute bucket once the raw samples no longer reach back that far. False when it
+        // wasn't running then.
+        private boolean fill(ProcessDTO dto, long timestamp, long staleAfterMs) {
+            SampleRing ring = raw;
+            long staleAfter = staleAfterMs;
+            int index = raw.lastIndexAtOrBefore(timestamp);
+            if (index < 0 || raw.timestamps[index] < timestamp - staleAfterMs) {
+                ring = minutes;
+                // A bucket is stamped with its start and covers the minute after it
+                staleAfter = staleAfterMs + MINUTE_MS;
+                index = minutes.lastIndexAtOrBefore(timestamp);
+            }
+            if (index < 0 || ring.timestamps[index] < timestamp - staleAfter) {
+                return false;
+            }
+            dto.setPid(pid);
+            dto.setStartTime(startTime);
+            dto.setCpuUsage(ring.cpu[index]);
+            dto.setMemoryUsage(ring.rss[index]);
+            dto.setThreadCount(ring.threads[index]);
+            return true;
+        }
+
+        // Minute buckets older than the oldest raw sample, then the raw samples
+        private ProcessHistorySeries toSeries(long latestSample, long from, long to) {
+            long rawFrom = raw.size > 0 ? raw.timestamps[raw.physical(0)] : Long.MAX_VALUE;
+            int capacity = raw.size + minutes.size;
+            long[] ts = new long[capacity];
+            double[] cpuOut = new double[capacity];
+            long[] rssOut = new long[capacity];
+            int[] threadsOut = new int[capacity];
+            int count = minutes.copyRange(from, Math.min(to, rawFrom - 1), ts, cpuOut, rssOut, threadsOut, 0);
+            count = raw.copyRange(from, to, ts, cpuOut, rssOut, threadsOut, count);
+            return new ProcessHistorySeries(pid, startTime, name, lastSeen == latestSample, lastSeen,
+                    Arrays.copyOf(ts, count), Arrays.copyOf(cpuOut, count), Arrays.copyOf(rssOut, count),
+                    Arrays.copyOf(threadsOut, count));
+        }
+    }
+
+    private static final class SampleRing {
+        private final long[] timestamps;
+        private final double[] cpu;
+        private final long[] rss;
+        private final int[] threads;
+        private int head;
+        private int size;
+
+        private SampleRing(int capacity) {
+            this.timestamps = new long[capacity];
+            this.cpu = new double[capacity];
+            this.rss = new long[capacity];
+            this.threads = new int[capacity];
+        }
+
+        private void append(long timestamp, double cpuPercent, long residentSet, int threadCount) {
+            if (timestamps.length == 0) {
+                return;
+            }
+            timestamps[head] = timestamp;
+            cpu[head] = cpuPercent;
+            rss[head] = residentSet;
+            threads[head] = threadCount;
+            head = (head + 1) % timestamps.length;
+            if (size < timestamps.length) {
+                size++;
+            }
+        }
+
+        private int physical(int index) {
+            int oldest = size < timestamps.length ? 0 : head;
+            return (oldest + index) % timestamps.length;
+        }
+
+        // Physical slot of the newest sample at or before timestamp, or -1
+        private int lastIndexAtOrBefore(long timestamp) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[physical(mid)] <= timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low > 0 ? physical(low - 1) : -1;
+        }
+
+        // Appends the samples in [from, to] to the output arrays at offset; returns the new count
+        private int copyRange(long from, long to, long[] ts, double[] cpuOut, long[] rssOut, int[] threadsOut,
+                              int offset) {
+            int count = offset;
+            for (int i = 0; i < size; i++) {
+                int p = physical(i);
+                if (timestamps[p] < from || timestamps[p] > to) {
+                    continue;
+                }
+                ts[count] = timestamps[p];
+                cpuOut[count] = cpu[p];
+                rssOut[count] = rss[p];
+                threadsOut[count] = threads[p];
+                count++;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package OSHI.example.project.History;
+
+// Recorded history of one process instance. A PID reused by a different process is a different
+// instance with its own startTime.
+public record ProcessHistorySeries(
+        int pid,
+        long startTime,
+        String name,
+        boolean alive,
+        long lastSeen,
+        long[] timestamps,
+        double[] cpuUsage,
+        long[] memoryUsage,
+        int[] threadCount) {
+}
@@ -0,0 +1,93 @@
+package OSHI.example.project.History;
+
+import java.util.Arrays;
+
+// Mergeable quantile sketch with bounded relative error, after DDSketch: each positive value
+// lands in a logarithmic bin, so any quantile is within RELATIVE_ACCURACY of the true value and
+// two sketches merge by adding their bin counts. Bins are one contiguous int array that only
+// spans the indexes actually seen, which keeps percentage metrics to a few dozen ints.
+final class QuantileSketch {
+
+    private static final double RELATIVE_ACCURACY = 0.02;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    // Values at or below this (including the odd negative reading) are counted as zero
+    private static final double MIN_INDEXABLE = 1e-9;
+    private static final int[] NO_BINS = new int[0];
+
+    private int[] bins = NO_BINS;
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    void add(double value) {
+        count++;
+        if (value <= MIN_INDEXABLE) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+        ensureCovers(index, index);
+        bins[index - offset]++;
+    }
+
+    void merge(QuantileSketch other) {
+        count += other.count;
+        zeroCount += other.zeroCount;
+        if (other.bins.length == 0) {
+            return;
+        }
+        ensureCovers(other.offset, other.offset + other.bins.length - 1);
+        for (int i = 0; i < other.bins.length; i++) {
+            bins[other.offset - offset + i] += other.bins[i];
+        }
+    }
+
+    double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (q * (count - 1));
+        if (rank < zeroCount) {
+            return 0.0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (seen > rank) {
+                // Midpoint of the bin in log space, which is what bounds the relative error
+                return 2 * Math.pow(GAMMA, offset + i) / (GAMMA + 1);
+            }
+        }
+        return 2 * Math.pow(GAMMA, offset + bins.length - 1) / (GAMMA + 1);
+    }
+
+    long count() {
+        return count;
+    }
+
+    // Keeps the bin array so a recycled rollup slot doesn't reallocate
+    void clear() {
+        Arrays.fill(bins, 0);
+        zeroCount = 0;
+        count = 0;
+    }
+
+    private void ensureCovers(int low, int high) {
+        if (bins.length == 0) {
+            bins = new int[high - low + 1];
+            offset = low;
+            return;
+        }
+        int currentHigh = offset + bins.length - 1;
+        if (low >= offset && high <= currentHigh) {
+            return;
+        }
+        int newLow = Math.min(low, offset);
+        int newHigh = Math.max(high, currentHigh);
+        int[] grown = new int[newHigh - newLow + 1];
+        System.arraycopy(bins, 0, grown, offset - newLow, bins.length);
+        bins = grown;
+        offset = newLow;
+    }
+}
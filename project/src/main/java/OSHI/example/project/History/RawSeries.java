@@ -0,0 +1,206 @@
+package OSHI.example.project.History;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Raw tier of one metric, held as Gorilla-compressed chunks: an open encoder receiving new
+// samples and a list of sealed, immutable chunks behind it. Chunks are time ordered, so a range
+// query binary-searches the chunk list and then streams through the few chunks that overlap.
+// Oldest chunks are dropped once more than `capacity` samples are retained, or when the retention
+// compactor expires them.
+final class RawSeries {
+
+    private final int capacity;
+    private final int chunkSamples;
+    private final CodecStats stats;
+    private final List<GorillaChunk> sealed = new ArrayList<>();
+    private GorillaEncoder open;
+    private long sealedSamples;
+    private long sealedBytes;
+
+    RawSeries(int capacity, int chunkSamples, CodecStats stats) {
+        this.capacity = capacity;
+        this.chunkSamples = chunkSamples;
+        this.stats = stats;
+        this.open = new GorillaEncoder(chunkSamples);
+    }
+
+    // False when the sample was rejected as out of order
+    synchronized boolean append(long timestamp, double value) {
+        // Out-of-order samples would break the time ordering the queries rely on
+        if (open.count() > 0 ? timestamp <= open.lastTimestamp()
+                : !sealed.isEmpty() && timestamp <= sealed.get(sealed.size() - 1).lastTimestamp()) {
+            return false;
+        }
+        long started = System.nanoTime();
+        open.append(timestamp, value);
+        stats.encodeNanos.add(System.nanoTime() - started);
+        stats.encodedSamples.increment();
+
+        if (open.count() >= chunkSamples) {
+            GorillaChunk chunk = open.seal();
+            sealed.add(chunk);
+            sealedSamples += chunk.count();
+            sealedBytes += chunk.sizeBytes();
+            open = new GorillaEncoder(chunkSamples);
+            while (!sealed.isEmpty() && sealedSamples - sealed.get(0).count() >= capacity) {
+                GorillaChunk dropped = sealed.remove(0);
+                sealedSamples -= dropped.count();
+                sealedBytes -= dropped.sizeBytes();
+            }
+        }
+        return true;
+    }
+
+    // Points in [from, to]. A positive step averages the samples of each step-aligned bucket.
+    synchronized HistorySeries query(String metric, long from, long to, long step) {
+        long started = System.nanoTime();
+        long decoded = 0;
+        SeriesAccumulator result = new SeriesAccumulator(step);
+
+        for (int c = firstChunkEndingAtOrAfter(from); c <= sealed.size(); c++) {
+            GorillaDecoder decoder;
+            if (c < sealed.size()) {
+                GorillaChunk chunk = sealed.get(c);
+                if (chunk.firstTimestamp() > to) {
+                    break;
+                }
+                decoder = chunk.decoder();
+            } else if (open.count() > 0 && open.firstTimestamp() <= to) {
+                decoder = open.decoder();
+            } else {
+                break;
+            }
+
+            while (decoder.next()) {
+                decoded++;
+                long timestamp = decoder.timestamp();
+                if (timestamp < from) {
+                    continue;
+                }
+                if (timestamp > to) {
+                    break;
+                }
+                result.add(timestamp, decoder.value());
+            }
+        }
+        stats.decodeNanos.add(System.nanoTime() - started);
+        stats.decodedSamples.add(decoded);
+        return result.toSeries(metric, from, to);
+    }
+
+    // Drops sealed chunks whose last sample is older than cutoff; returns the bytes released
+    synchronized long expire(long cutoff) {
+        long released = 0;
+        while (!sealed.isEmpty() && sealed.get(0).lastTimestamp() < cutoff) {
+            GorillaChunk dropped = sealed.remove(0);
+            sealedSamples -= dropped.count();
+            sealedBytes -= dropped.sizeBytes();
+            released += dropped.sizeBytes();
+        }
+        return released;
+    }
+
+    record ChunkMerge(int chunksMerged, long bytesSaved) {
+        static final ChunkMerge NONE = new ChunkMerge(0, 0);
+    }
+
+    // Re-encodes runs of adjacent sealed chunks into chunks of about targetSamples. Fewer, longer
+    // chunks pay the 16-byte uncompressed header and the per-object overhead less often. The
+    // decode and re-encode happen outside the lock on immutable chunks, so appends are only held
+    // up for the final swap, which is skipped if the chunks changed underneath. Returns the number
+    // of chunks merged away and the bytes saved.
+    ChunkMerge mergeChunks(int targetSamples) {
+        List<GorillaChunk> snapshot;
+        synchronized (this) {
+            snapshot = List.copyOf(sealed);
+        }
+        List<GorillaChunk> merged = new ArrayList<>(snapshot.size());
+        int i = 0;
+        while (i < snapshot.size()) {
+            int end = i;
+            int samples = 0;
+            while (end < snapshot.size() && samples + snapshot.get(end).count() <= targetSamples) {
+                samples += snapshot.get(end).count();
+                end++;
+            }
+            if (end - i < 2) {
+                merged.add(snapshot.get(i));
+                i = Math.max(end, i + 1);
+                continue;
+            }
+            GorillaEncoder encoder = new GorillaEncoder(samples);
+            for (int c = i; c < end; c++) {
+                GorillaDecoder decoder = snapshot.get(c).decoder();
+                while (decoder.next()) {
+                    encoder.append(decoder.timestamp(), decoder.value());
+                }
+            }
+            merged.add(encoder.seal());
+            i = end;
+        }
+        if (merged.size() == snapshot.size()) {
+            return ChunkMerge.NONE;
+        }
+
+        synchronized (this) {
+            // Appends only add chunks at the end; anything else means the front moved on
+            if (sealed.size() < snapshot.size()) {
+                return ChunkMerge.NONE;
+            }
+            for (int c = 0; c < snapshot.size(); c++) {
+                if (sealed.get(c) != snapshot.get(c)) {
+                    return ChunkMerge.NONE;
+                }
+            }
+            long before = 0;
+            long after = 0;
+            for (GorillaChunk chunk : snapshot) {
+                before += chunk.sizeBytes();
+            }
+            for (GorillaChunk chunk : merged) {
+                after += chunk.sizeBytes();
+            }
+            sealed.subList(0, snapshot.size()).clear();
+            sealed.addAll(0, merged);
+            sealedBytes += after - before;
+            return new ChunkMerge(snapshot.size() - merged.size(), before - after);
+        }
+    }
+
+    // Long.MAX_VALUE while empty
+    synchronized long oldestTimestamp() {
+        if (!sealed.isEmpty()) {
+            return sealed.get(0).firstTimestamp();
+        }
+        return open.count() > 0 ? open.firstTimestamp() : Long.MAX_VALUE;
+    }
+
+    synchronized long samples() {
+        return sealedSamples + open.count();
+    }
+
+    synchronized long sizeBytes() {
+        return sealedBytes + open.sizeBytes();
+    }
+
+    synchronized int sealedChunks() {
+        return sealed.size();
+    }
+
+    // Index of the first sealed chunk whose last sample is at or after target; sealed.size()
+    // when only the open chunk can hold it
+    private int firstChunkEndingAtOrAfter(long target) {
+        int low = 0;
+        int high = sealed.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sealed.get(mid).lastTimestamp() < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,207 @@
+package OSHI.example.project.History;
+
+// One downsampling tier: a fixed-capacity ring of time buckets of widthMs, each holding
+// count/min/max/sum/last and a quantile sketch in parallel primitive arrays. Buckets are opened
+// in time order by the sampler thread, so bucket starts stay sorted for binary search. Sketch
+// objects are allocated once per slot and cleared when the slot is recycled.
+final class RollupTier {
+
+    private static final double P95 = 0.95;
+
+    private final String name;
+    private final long widthMs;
+    private final long[] starts;
+    private final long[] counts;
+    private final double[] mins;
+    private final double[] maxs;
+    private final double[] sums;
+    private final double[] lasts;
+    private final QuantileSketch[] sketches;
+    // Physical slot of the oldest bucket
+    private int tail;
+    private int size;
+
+    RollupTier(String name, long widthMs, int capacity) {
+        this.name = name;
+        this.widthMs = widthMs;
+        // A closed bucket must survive until the next tier has absorbed it
+        capacity = Math.max(capacity, 2);
+        this.starts = new long[capacity];
+        this.counts = new long[capacity];
+        this.mins = new double[capacity];
+        this.maxs = new double[capacity];
+        this.sums = new double[capacity];
+        this.lasts = new double[capacity];
+        this.sketches = new QuantileSketch[capacity];
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getWidthMs() {
+        return widthMs;
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Adds one raw sample. Returns the slot of the bucket this sample closed, or -1.
+    synchronized int add(long timestamp, double value) {
+        int previous = size > 0 ? newest() : -1;
+        int slot = openBucket(timestamp);
+        if (slot < 0) {
+            return -1;
+        }
+        counts[slot]++;
+        mins[slot] = Math.min(mins[slot], value);
+        maxs[slot] = Math.max(maxs[slot], value);
+        sums[slot] += value;
+        lasts[slot] = value;
+        sketches[slot].add(value);
+        return slot != previous ? previous : -1;
+    }
+
+    // Folds one closed bucket of a finer tier into this one
+    synchronized void absorb(RollupTier finer, int finerSlot) {
+        synchronized (finer) {
+            int slot = openBucket(finer.starts[finerSlot]);
+            if (slot < 0) {
+                return;
+            }
+            counts[slot] += finer.counts[finerSlot];
+            mins[slot] = Math.min(mins[slot], finer.mins[finerSlot]);
+            maxs[slot] = Math.max(maxs[slot], finer.maxs[finerSlot]);
+            sums[slot] += finer.sums[finerSlot];
+            lasts[slot] = finer.lasts[finerSlot];
+            sketches[slot].merge(finer.sketches[finerSlot]);
+        }
+    }
+
+    // Drops buckets that ended before cutoff. Slots are preallocated, so this frees no memory by
+    // itself; it keeps expired buckets out of queries when the ring outlives its retention (for
+    // example across a gap while the app was down). Returns the number of buckets dropped.
+    synchronized int expire(long cutoff) {
+        int dropped = 0;
+        while (size > 0 && starts[tail] + widthMs <= cutoff) {
+            tail = (tail + 1) % starts.length;
+            size--;
+            dropped++;
+        }
+        return dropped;
+    }
+
+    // Buckets starting in [from, to], re-aggregated into step-aligned buckets when step is wider
+    // than this tier. Merging the sketches keeps p95 meaningful at any step.
+    synchronized HistorySeries query(String metric, long from, long to, long step) {
+        long alignedFrom = Math.floorDiv(from, widthMs) * widthMs;
+        int start = lowerBound(alignedFrom);
+        int end = lowerBound(to + 1);
+        long outStep = Math.max(step, widthMs);
+
+        int buckets = 0;
+        long bucket = Long.MIN_VALUE;
+        for (int i = start; i < end; i++) {
+            long b = Math.floorDiv(starts[physical(i)], outStep) * outStep;
+            if (b != bucket) {
+                buckets++;
+                bucket = b;
+            }
+        }
+
+        long[] ts = new long[buckets];
+        double[] avg = new double[buckets];
+        double[] min = new double[buckets];
+        double[] max = new double[buckets];
+        double[] p95 = new double[buckets];
+        QuantileSketch merged = new QuantileSketch();
+        int out = -1;
+        long count = 0;
+        double sum = 0;
+        bucket = Long.MIN_VALUE;
+        for (int i = start; i < end; i++) {
+            int p = physical(i);
+            long b = Math.floorDiv(starts[p], outStep) * outStep;
+            if (b != bucket) {
+                if (out >= 0) {
+                    avg[out] = sum / count;
+                    p95[out] = merged.quantile(P95);
+                }
+                out++;
+                ts[out] = b;
+                min[out] = Double.POSITIVE_INFINITY;
+                max[out] = Double.NEGATIVE_INFINITY;
+                bucket = b;
+                count = 0;
+                sum = 0;
+                merged.clear();
+            }
+            count += counts[p];
+            sum += sums[p];
+            min[out] = Math.min(min[out], mins[p]);
+            max[out] = Math.max(max[out], maxs[p]);
+            merged.merge(sketches[p]);
+        }
+        if (out >= 0) {
+            avg[out] = sum / count;
+            p95[out] = merged.quantile(P95);
+        }
+        return new HistorySeries(metric, name, from, to, outStep, ts, avg, min, max, p95);
+    }
+
+    // Slot of the bucket covering timestamp, opening (and recycling) one if needed; -1 if the
+    // timestamp falls before the newest bucket
+    private int openBucket(long timestamp) {
+        long bucketStart = Math.floorDiv(timestamp, widthMs) * widthMs;
+        if (size > 0) {
+            long newestStart = starts[newest()];
+            if (bucketStart == newestStart) {
+                return newest();
+            }
+            if (bucketStart < newestStart) {
+                return -1;
+            }
+        }
+        int slot = (tail + size) % starts.length;
+        starts[slot] = bucketStart;
+        counts[slot] = 0;
+        mins[slot] = Double.POSITIVE_INFINITY;
+        maxs[slot] = Double.NEGATIVE_INFINITY;
+        sums[slot] = 0;
+        lasts[slot] = 0;
+        if (sketches[slot] == null) {
+            sketches[slot] = new QuantileSketch();
+        } else {
+            sketches[slot].clear();
+        }
+        if (size < starts.length) {
+            size++;
+        } else {
+            tail = (tail + 1) % starts.length;
+        }
+        return slot;
+    }
+
+    private int newest() {
+        return physical(size - 1);
+    }
+
+    private int lowerBound(long target) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[physical(mid)] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int physical(int index) {
+        return (tail + index) % starts.length;
+    }
+}
@@ -0,0 +1,204 @@
+package OSHI.example.project.History;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+// One fixed-size, preallocated, memory-mapped segment file of 24-byte records:
+// timestamp (8) | value bits (8) | series id (4) | checksum (4). The checksum is written last, so
+// a record torn by a crash fails verification and recovery stops there. Records from different
+// collectors are not strictly time ordered, so instead of a sorted index each block of
+// indexStride records keeps its min and max timestamp and scans skip blocks outside the range.
+// Single writer (the sampler thread); readers read straight from the mapping up to the volatile
+// record count, never copying records onto the heap.
+final class Segment {
+
+    static final int RECORD_BYTES = 24;
+
+    interface SampleSink {
+        void accept(long timestamp, double value);
+    }
+
+    interface RecordSink {
+        void accept(int seriesId, long timestamp, double value);
+    }
+
+    private final Path path;
+    private final long sequence;
+    private final MappedByteBuffer buffer;
+    private final int capacityRecords;
+    private final int indexStride;
+    private final long[] blockMin;
+    private final long[] blockMax;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private volatile int records;
+
+    private Segment(Path path, long sequence, MappedByteBuffer buffer, int indexStride) {
+        this.path = path;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        this.capacityRecords = buffer.capacity() / RECORD_BYTES;
+        this.indexStride = indexStride;
+        int blocks = (capacityRecords + indexStride - 1) / indexStride;
+        this.blockMin = new long[blocks];
+        this.blockMax = new long[blocks];
+    }
+
+    static Segment create(Path path, long sequence, int sizeBytes, int indexStride) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(sizeBytes);
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes);
+            return new Segment(path, sequence, buffer, indexStride);
+        }
+    }
+
+    // Maps an existing segment, rebuilds its block index and cuts off a torn tail. Returns the
+    // segment with its record count set to the last record that verifies.
+    static Segment recover(Path path, long sequence, int indexStride) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, file.length());
+            Segment segment = new Segment(path, sequence, buffer, indexStride);
+            int count = 0;
+            while (count < segment.capacityRecords && segment.verify(count)) {
+                segment.index(count, buffer.getLong(count * RECORD_BYTES));
+                count++;
+            }
+            // Pages reach the disk in any order, so older records can survive past the torn one.
+            // Every slot after the cut is zeroed, otherwise new appends would only overwrite the
+            // first few and a later recovery would walk on into the stale ones
+            for (int record = count; record < segment.capacityRecords; record++) {
+                segment.clear(record);
+            }
+            segment.records = count;
+            return segment;
+        }
+    }
+
+    // False when the segment is full
+    boolean append(int seriesId, long timestamp, double value) {
+        int record = records;
+        if (record >= capacityRecords) {
+            return false;
+        }
+        int offset = record * RECORD_BYTES;
+        long valueBits = Double.doubleToRawLongBits(value);
+        buffer.putLong(offset, timestamp);
+        buffer.putLong(offset + 8, valueBits);
+        buffer.putInt(offset + 16, seriesId);
+        buffer.putInt(offset + 20, checksum(timestamp, valueBits, seriesId));
+        index(record, timestamp);
+        records = record + 1;
+        return true;
+    }
+
+    void scan(int seriesId, long from, long to, SampleSink sink) {
+        int count = records;
+        if (count == 0 || maxTimestamp < from || minTimestamp > to) {
+            return;
+        }
+        for (int block = 0; block * indexStride < count; block++) {
+            if (blockMax[block] < from || blockMin[block] > to) {
+                continue;
+            }
+            int end = Math.min(count, (block + 1) * indexStride);
+            for (int record = block * indexStride; record < end; record++) {
+                int offset = record * RECORD_BYTES;
+                if (buffer.getInt(offset + 16) != seriesId) {
+                    continue;
+                }
+                long timestamp = buffer.getLong(offset);
+                if (timestamp >= from && timestamp <= to) {
+                    sink.accept(timestamp, Double.longBitsToDouble(buffer.getLong(offset + 8)));
+                }
+            }
+        }
+    }
+
+    void scanAll(long from, RecordSink sink) {
+        int count = records;
+        if (count == 0 || maxTimestamp < from) {
+            return;
+        }
+        for (int record = 0; record < count; record++) {
+            int offset = record * RECORD_BYTES;
+            long timestamp = buffer.getLong(offset);
+            if (timestamp >= from) {
+                sink.accept(buffer.getInt(offset + 16), timestamp, Double.longBitsToDouble(buffer.getLong(offset + 8)));
+            }
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    int getRecords() {
+        return records;
+    }
+
+    long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    long sizeBytes() {
+        return (long) capacityRecords * RECORD_BYTES;
+    }
+
+    private void index(int record, long timestamp) {
+        int block = record / indexStride;
+        if (record % indexStride == 0) {
+            blockMin[block] = timestamp;
+            blockMax[block] = timestamp;
+        } else {
+            blockMin[block] = Math.min(blockMin[block], timestamp);
+            blockMax[block] = Math.max(blockMax[block], timestamp);
+        }
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+    }
+
+    // Leaves never-written slots alone so recovery doesn't dirty every page of the file
+    private void clear(int record) {
+        int offset = record * RECORD_BYTES;
+        if (buffer.getLong(offset) == 0 && buffer.getLong(offset + 8) == 0 && buffer.getLong(offset + 16) == 0) {
+            return;
+        }
+        buffer.putLong(offset, 0);
+        buffer.putLong(offset + 8, 0);
+        buffer.putLong(offset + 16, 0);
+    }
+
+    private boolean verify(int record) {
+        int offset = record * RECORD_BYTES;
+        long timestamp = buffer.getLong(offset);
+        long valueBits = buffer.getLong(offset + 8);
+        int seriesId = buffer.getInt(offset + 16);
+        return timestamp > 0 && buffer.getInt(offset + 20) == checksum(timestamp, valueBits, seriesId);
+    }
+
+    // Cheap 64-bit mix folded to 32 bits; an all-zero slot never verifies
+    private static int checksum(long timestamp, long valueBits, int seriesId) {
+        long h = timestamp * 0x9E3779B97F4A7C15L;
+        h ^= Long.rotateLeft(valueBits, 29) * 0xC2B2AE3D27D4EB4FL;
+        h ^= (seriesId + 0x165667B1L) * 0x27D4EB2F165667C5L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) (h ^ (h >>> 32));
+    }
+}
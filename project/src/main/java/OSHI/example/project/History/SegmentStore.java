@@ -0,0 +1,342 @@
+package OSHI.example.project.History;
+
+import OSHI.example.project.Retention.TierReclaim;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Local persistence for raw history: every accepted sample is appended to the active segment, a
+// fixed-size memory-mapped file, and a new segment is started when it fills. Series names are
+// interned to int ids in an append-only dictionary file next to the segments. On startup every
+// segment is re-mapped and the last one's torn tail, if any, is cut off. Queries read straight
+// from the mappings.
+//
+// Appends are memory writes only. The "segment-writer" thread does the file work the sampler
+// thread mustn't wait on: every force-interval-ms it msyncs the active segment and any segment
+// sealed since the last pass, and it creates and maps the next segment ahead of time, so a roll
+// is a swap. Only if that segment isn't ready yet does a roll create one inline.
+@Component
+public class SegmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentStore.class);
+    private static final String DICTIONARY = "series.dict";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    // Sealed and active segments, oldest first; written by the sampler thread only
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> seriesIds = new HashMap<>();
+    private final List<String> seriesNames = new ArrayList<>();
+    // Sealed segments the writer hasn't forced yet
+    private final List<Segment> unforced = new ArrayList<>();
+    private final ScheduledExecutorService writer;
+    private Path directory;
+    private Segment active;
+    // Created by the writer thread, taken by the next roll
+    private Segment prepared;
+    private long nextSequence;
+
+    @Value("${monitor.history.persist.enabled:true}")
+    private boolean enabled;
+
+    @Value("${monitor.history.persist.directory:data/history}")
+    private String directoryName;
+
+    @Value("${monitor.history.persist.segment-bytes:67108848}")
+    private int segmentBytes;
+
+    @Value("${monitor.history.persist.index-stride:256}")
+    private int indexStride;
+
+    @Value("${monitor.history.persist.force-interval-ms:10000}")
+    private long forceIntervalMs;
+
+    public SegmentStore() {
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "segment-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        // Whole records only
+        segmentBytes -= segmentBytes % Segment.RECORD_BYTES;
+        try {
+            directory = Paths.get(directoryName);
+            Files.createDirectories(directory);
+            loadDictionary();
+            recoverSegments();
+        } catch (IOException e) {
+            log.warn("History persistence disabled, {} is not usable: {}", directoryName, e.getMessage());
+            enabled = false;
+            return;
+        }
+        writer.scheduleWithFixedDelay(this::maintainSafely, 0, forceIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.shutdownNow();
+        synchronized (this) {
+            unforced.forEach(Segment::force);
+            unforced.clear();
+            if (active != null) {
+                active.force();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    synchronized void append(String metric, long timestamp, double value) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int seriesId = seriesId(metric);
+            if (active == null || !active.append(seriesId, timestamp, value)) {
+                roll();
+                active.append(seriesId, timestamp, value);
+            }
+        } catch (IOException e) {
+            log.warn("History persistence disabled after write failure: {}", e.getMessage());
+            enabled = false;
+        }
+    }
+
+    // Raw samples of one metric in [from, to], answered from the mapped segments
+    HistorySeries query(String metric, long from, long to, long step) {
+        SeriesAccumulator result = new SeriesAccumulator(step);
+        Integer seriesId;
+        synchronized (this) {
+            seriesId = seriesIds.get(metric);
+        }
+        if (seriesId != null) {
+            for (Segment segment : segments) {
+                segment.scan(seriesId, from, to, result::add);
+            }
+        }
+        return result.toSeries(metric, from, to);
+    }
+
+    interface Replay {
+        void accept(String metric, long timestamp, double value);
+    }
+
+    // Streams every persisted sample newer than `from` in append order, for rebuilding the
+    // in-memory tiers after a restart
+    void replay(long from, Replay replay) {
+        List<String> names;
+        synchronized (this) {
+            names = List.copyOf(seriesNames);
+        }
+        for (Segment segment : segments) {
+            segment.scanAll(from, (seriesId, timestamp, value) -> {
+                if (seriesId >= 0 && seriesId < names.size()) {
+                    replay.accept(names.get(seriesId), timestamp, value);
+                }
+            });
+        }
+    }
+
+    // Drops whole segments whose newest record is older than cutoff, which costs one file delete
+    // each. The active segment is never dropped. Files are deleted outside the lock so the
+    // sampler's appends aren't held up by the filesystem.
+    public TierReclaim dropBefore(long cutoff) {
+        List<Segment> expired = new ArrayList<>();
+        synchronized (this) {
+            for (Segment segment : segments) {
+                if (segment != active && segment.getRecords() > 0 && segment.getMaxTimestamp() < cutoff) {
+                    expired.add(segment);
+                }
+            }
+            segments.removeAll(expired);
+        }
+        long bytes = 0;
+        int dropped = 0;
+        for (Segment segment : expired) {
+            try {
+                // Readers still holding the segment keep a valid mapping after the unlink
+                Files.deleteIfExists(segment.getPath());
+                bytes += segment.sizeBytes();
+                dropped++;
+            } catch (IOException e) {
+                log.warn("Could not delete expired segment {}: {}", segment.getPath(), e.getMessage());
+            }
+        }
+        return new TierReclaim(dropped, bytes);
+    }
+
+    private int seriesId(String metric) throws IOException {
+        Integer id = seriesIds.get(metric);
+        if (id != null) {
+            return id;
+        }
+        int newId = seriesNames.size();
+        Files.write(directory.resolve(DICTIONARY),
+                (newId + "\t" + metric + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        seriesIds.put(metric, newId);
+        seriesNames.add(metric);
+        return newId;
+    }
+
+    // Called with the lock held. The sealed segment is left for the writer to force.
+    private void roll() throws IOException {
+        if (active != null) {
+            unforced.add(active);
+        }
+        if (prepared != null) {
+            active = prepared;
+            prepared = null;
+        } else {
+            long sequence = nextSequence++;
+            active = Segment.create(segmentPath(sequence), sequence, segmentBytes, indexStride);
+        }
+        segments.add(active);
+        // Have the replacement ready before this one fills
+        writer.execute(this::maintainSafely);
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.warn("History segment maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    // Runs on the writer thread. Mapped writes survive a JVM crash regardless; forcing bounds
+    // what a power loss takes. Creating the file happens outside the lock, so appends continue
+    // meanwhile.
+    private void maintain() throws IOException {
+        List<Segment> toForce;
+        long sequence = -1;
+        synchronized (this) {
+            if (!enabled) {
+                return;
+            }
+            toForce = new ArrayList<>(unforced);
+            unforced.clear();
+            if (active != null) {
+                toForce.add(active);
+            }
+            if (prepared == null) {
+                sequence = nextSequence++;
+            }
+        }
+        for (Segment segment : toForce) {
+            segment.force();
+        }
+        if (sequence < 0) {
+            return;
+        }
+        Segment next = Segment.create(segmentPath(sequence), sequence, segmentBytes, indexStride);
+        synchronized (this) {
+            // An inline roll may have overtaken it; segments must stay in sequence order
+            if (prepared == null && (active == null || active.getSequence() < sequence)) {
+                prepared = next;
+                return;
+            }
+        }
+        Files.deleteIfExists(next.getPath());
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    // Only newline-terminated lines count. A torn last line is cut off before anything else is
+    // appended, otherwise the next id would be written onto the end of it.
+    private void loadDictionary() throws IOException {
+        Path path = directory.resolve(DICTIONARY);
+        if (!Files.exists(path)) {
+            return;
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        int start = 0;
+        for (int end = 0; end < bytes.length; end++) {
+            if (bytes[end] != '\n') {
+                continue;
+            }
+            addDictionaryLine(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+            start = end + 1;
+        }
+        if (start < bytes.length) {
+            log.warn("Dropping {} bytes of torn series dictionary tail", bytes.length - start);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(start);
+                channel.force(true);
+            }
+        }
+    }
+
+    // Lines out of sequence or with a garbled id are skipped
+    private void addDictionaryLine(String line) {
+        int tab = line.indexOf('\t');
+        if (tab < 0) {
+            return;
+        }
+        try {
+            if (Integer.parseInt(line.substring(0, tab)) != seriesNames.size()) {
+                return;
+            }
+        } catch (NumberFormatException e) {
+            return;
+        }
+        String name = line.substring(tab + 1);
+        seriesIds.put(name, seriesNames.size());
+        seriesNames.add(name);
+    }
+
+    private void recoverSegments() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        long records = 0;
+        for (Path path : paths) {
+            String fileName = path.getFileName().toString();
+            long sequence = Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(),
+                    fileName.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = Segment.recover(path, sequence, indexStride);
+            segments.add(segment);
+            records += segment.getRecords();
+        }
+        active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        nextSequence = active != null ? active.getSequence() + 1 : 0;
+        if (!segments.isEmpty()) {
+            log.info("Recovered {} history segments ({} records) from {}", segments.size(), records, directory);
+        }
+    }
+}
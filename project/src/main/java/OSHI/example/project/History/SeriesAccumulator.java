@@ -0,0 +1,60 @@
+package OSHI.example.project.History;
+
+import java.util.Arrays;
+
+// Collects time-ordered raw samples into a query answer, averaging into step-aligned buckets when
+// step is positive. Arrays grow by doubling, so callers can stream samples in without counting
+// them first.
+final class SeriesAccumulator {
+
+    private final long step;
+    private long[] timestamps = new long[64];
+    private double[] values = new double[64];
+    private int out = -1;
+    private long bucket = Long.MIN_VALUE;
+    private double sum;
+    private int count;
+
+    SeriesAccumulator(long step) {
+        this.step = step;
+    }
+
+    void add(long timestamp, double value) {
+        if (step <= 0) {
+            append(timestamp, value);
+            return;
+        }
+        long b = Math.floorDiv(timestamp, step) * step;
+        if (b != bucket) {
+            closeBucket();
+            append(b, 0.0);
+            bucket = b;
+        }
+        sum += value;
+        count++;
+    }
+
+    HistorySeries toSeries(String metric, long from, long to) {
+        closeBucket();
+        return new HistorySeries(metric, "raw", from, to, step,
+                Arrays.copyOf(timestamps, out + 1), Arrays.copyOf(values, out + 1), null, null, null);
+    }
+
+    private void append(long timestamp, double value) {
+        out++;
+        if (out == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, out * 2);
+            values = Arrays.copyOf(values, out * 2);
+        }
+        timestamps[out] = timestamp;
+        values[out] = value;
+    }
+
+    private void closeBucket() {
+        if (count > 0) {
+            values[out] = sum / count;
+            sum = 0;
+            count = 0;
+        }
+    }
+}
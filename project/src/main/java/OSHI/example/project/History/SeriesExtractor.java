@@ -0,0 +1,109 @@
+package OSHI.example.project.History;
+
+import OSHI.example.project.Collector.CapabilityProbe;
+import OSHI.example.project.DTO.CpuDetailsDTO;
+import OSHI.example.project.DTO.DiskDTO;
+import OSHI.example.project.DTO.MemoryDetailsDTO;
+import OSHI.example.project.DTO.NetworkDTO;
+import OSHI.example.project.DTO.SystemMetricsDTO;
+import OSHI.example.project.Sampler.CollectorStatus;
+import OSHI.example.project.Sampler.MetricsSnapshot;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Turns published snapshots into named series samples. Each collector's series are emitted only
+// when that collector produced a new value, stamped with its collection time, so a disk list
+// collected every 30s doesn't turn into thirty identical points. Series names are built once and
+// cached, so in steady state extraction allocates nothing and consumers can stay allocation-free.
+// Stateful and not thread safe: every consumer keeps its own instance.
+public final class SeriesExtractor {
+
+    public interface SeriesSink {
+        void accept(String metric, long timestamp, double value);
+    }
+
+    private final Map<String, long[]> recordedAt = new HashMap<>();
+    private final Map<String, String[]> networkNames = new HashMap<>();
+    private final Map<String, String> diskNames = new HashMap<>();
+    private String[] coreNames = new String[0];
+
+    public void extract(MetricsSnapshot snapshot, SeriesSink sink) {
+        SystemMetricsDTO metrics = snapshot.metrics();
+        List<CollectorStatus> collectors = snapshot.collectors();
+        for (int c = 0; c < collectors.size(); c++) {
+            CollectorStatus status = collectors.get(c);
+            long collectedAt = status.collectedAt();
+            long[] previous = recordedAt.computeIfAbsent(status.name(), name -> new long[1]);
+            if (collectedAt <= 0 || previous[0] == collectedAt) {
+                continue;
+            }
+            previous[0] = collectedAt;
+            switch (status.name()) {
+                case "cpu" -> emitCpu(metrics.getCpu(), metrics, collectedAt, sink);
+                case "memory" -> emitMemory(metrics.getMemory(), collectedAt, sink);
+                case CapabilityProbe.SENSORS -> emitSensors(metrics, collectedAt, sink);
+                case CapabilityProbe.NETWORK -> emitNetworks(metrics, collectedAt, sink);
+                case "disk" -> emitDisks(metrics, collectedAt, sink);
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void emitCpu(CpuDetailsDTO cpu, SystemMetricsDTO metrics, long timestamp, SeriesSink sink) {
+        if (metrics.getDashboard() != null) {
+            sink.accept("cpu", timestamp, metrics.getDashboard().getCpuUsage());
+        }
+        if (cpu != null && cpu.getPerCoreUsage() != null) {
+            double[] perCore = cpu.getPerCoreUsage();
+            if (coreNames.length < perCore.length) {
+                coreNames = new String[perCore.length];
+                for (int i = 0; i < perCore.length; i++) {
+                    coreNames[i] = "cpu.core." + i;
+                }
+            }
+            for (int i = 0; i < perCore.length; i++) {
+                sink.accept(coreNames[i], timestamp, perCore[i]);
+            }
+        }
+    }
+
+    private void emitMemory(MemoryDetailsDTO memory, long timestamp, SeriesSink sink) {
+        if (memory == null) {
+            return;
+        }
+        sink.accept("memory", timestamp, memory.getUsagePercentage());
+        if (memory.getSwapTotal() > 0) {
+            sink.accept("swap", timestamp, memory.getSwapUsed() * 100.0 / memory.getSwapTotal());
+        }
+    }
+
+    private void emitSensors(SystemMetricsDTO metrics, long timestamp, SeriesSink sink) {
+        Double temperature = metrics.getDashboard() != null ? metrics.getDashboard().getCpuTemperature() : null;
+        if (temperature != null && temperature > 0) {
+            sink.accept("temperature", timestamp, temperature);
+        }
+    }
+
+    private void emitNetworks(SystemMetricsDTO metrics, long timestamp, SeriesSink sink) {
+        List<NetworkDTO> networks = metrics.getNetworks();
+        for (int i = 0; i < networks.size(); i++) {
+            NetworkDTO network = networks.get(i);
+            String[] names = networkNames.computeIfAbsent(network.getName(),
+                    name -> new String[] {"net." + name + ".rx", "net." + name + ".tx"});
+            sink.accept(names[0], timestamp, network.getDownloadSpeed());
+            sink.accept(names[1], timestamp, network.getUploadSpeed());
+        }
+    }
+
+    private void emitDisks(SystemMetricsDTO metrics, long timestamp, SeriesSink sink) {
+        List<DiskDTO> disks = metrics.getDisks();
+        for (int i = 0; i < disks.size(); i++) {
+            DiskDTO disk = disks.get(i);
+            String name = diskNames.computeIfAbsent(disk.getMountPoint(), mount -> "disk." + mount);
+            sink.accept(name, timestamp, disk.getUsagePercentage());
+        }
+    }
+}
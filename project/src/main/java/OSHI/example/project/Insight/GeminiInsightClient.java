@@ -0,0 +1,80 @@
+package OSHI.example.project.Insight;
+
+import OSHI.example.project.Exception.InsightUnavailableException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// Gemini generateContent over plain HTTP, so the API key lives on the server instead of in every
+// browser. Enabled with monitor.insight.client=gemini.
+@Component
+@ConditionalOnProperty(name = "monitor.insight.client", havingValue = "gemini")
+public class GeminiInsightClient implements InsightClient {
+
+    private static final String ENDPOINT = "https://generativelanguage.googleapis.com/v1beta/models/%s:generateContent";
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final String apiKey;
+    private final String model;
+    private final Duration timeout;
+
+    public GeminiInsightClient(ObjectMapper objectMapper,
+                               @Value("${monitor.insight.gemini.api-key:}") String apiKey,
+                               @Value("${monitor.insight.gemini.model:gemini-2.5-flash}") String model,
+                               @Value("${monitor.insight.gemini.timeout-ms:30000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.apiKey = apiKey;
+        this.model = model;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String name() {
+        return model;
+    }
+
+    @Override
+    public String complete(String prompt) {
+        if (apiKey.isBlank()) {
+            throw new InsightUnavailableException("No Gemini API key configured (monitor.insight.gemini.api-key)");
+        }
+        try {
+            String body = objectMapper.writeValueAsString(
+                    Map.of("contents", List.of(Map.of("parts", List.of(Map.of("text", prompt))))));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(String.format(ENDPOINT, model)))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("x-goog-api-key", apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new InsightUnavailableException("Gemini returned HTTP " + response.statusCode());
+            }
+            JsonNode text = objectMapper.readTree(response.body())
+                    .path("candidates").path(0).path("content").path("parts").path(0).path("text");
+            if (!text.isTextual()) {
+                throw new InsightUnavailableException("Gemini returned no text");
+            }
+            return text.asText();
+        } catch (IOException e) {
+            throw new InsightUnavailableException("Gemini request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InsightUnavailableException("Gemini request interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package OSHI.example.project.Insight;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Results of slow upstream calls, kept for ttl-ms and bounded to max-entries with LRU eviction
+// (an access-ordered LinkedHashMap). Concurrent lookups of a key that isn't cached share one load:
+// the first caller runs it, the rest wait on its future. A batch lookup loads all of its own
+// misses in one call and waits on any another caller is already loading. Failed loads are not
+// cached.
+public final class InsightCache<K, V> {
+
+    private final LongSupplier clock;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final Map<K, CompletableFuture<V>> inFlight = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long loads;
+    private long coalesced;
+    private long failures;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public InsightCache(long ttlMs, int maxEntries) {
+        this(ttlMs, maxEntries, System::currentTimeMillis);
+    }
+
+    InsightCache(long ttlMs, int maxEntries, LongSupplier clock) {
+        this.clock = clock;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > InsightCache.this.maxEntries;
+            }
+        };
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        return getAll(List.of(key), keys -> Map.of(key, loader.get())).get(key);
+    }
+
+    // The loader receives only the keys this call has to load and must answer every one of them
+    public Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Map<K, V> result = new HashMap<>();
+        Map<K, CompletableFuture<V>> pending = new HashMap<>();
+        List<K> owned = new ArrayList<>();
+        synchronized (this) {
+            long now = clock.getAsLong();
+            for (K key : keys) {
+                Entry<V> entry = entries.get(key);
+                if (entry != null && entry.expiresAt() > now) {
+                    hits++;
+                    result.put(key, entry.value());
+                    continue;
+                }
+                CompletableFuture<V> future = inFlight.get(key);
+                if (future == null) {
+                    future = new CompletableFuture<>();
+                    inFlight.put(key, future);
+                    owned.add(key);
+                    misses++;
+                } else {
+                    coalesced++;
+                }
+                pending.put(key, future);
+            }
+        }
+        if (!owned.isEmpty()) {
+            load(owned, loader, pending);
+        }
+        for (Map.Entry<K, CompletableFuture<V>> entry : pending.entrySet()) {
+            result.put(entry.getKey(), join(entry.getValue()));
+        }
+        return result;
+    }
+
+    public synchronized InsightCacheStats getStats() {
+        return new InsightCacheStats(entries.size(), maxEntries, ttlMs, hits, misses, loads, coalesced, failures);
+    }
+
+    // Whatever the loader does, its keys leave inFlight and their futures complete, so no caller
+    // can be left waiting on a load that is over
+    private void load(List<K> keys, Function<List<K>, Map<K, V>> loader, Map<K, CompletableFuture<V>> futures) {
+        synchronized (this) {
+            loads++;
+        }
+        Map<K, V> values = null;
+        Throwable failure = null;
+        try {
+            values = loader.apply(keys);
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            synchronized (this) {
+                long expiresAt = clock.getAsLong() + ttlMs;
+                for (K key : keys) {
+                    V value = values != null ? values.get(key) : null;
+                    if (value != null) {
+                        entries.put(key, new Entry<>(value, expiresAt));
+                    }
+                    inFlight.remove(key);
+                }
+                if (failure != null) {
+                    failures++;
+                }
+            }
+        }
+        for (K key : keys) {
+            V value = values != null ? values.get(key) : null;
+            if (value != null) {
+                futures.get(key).complete(value);
+            } else {
+                futures.get(key).completeExceptionally(
+                        failure != null ? failure : new IllegalStateException("No answer for " + key));
+            }
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
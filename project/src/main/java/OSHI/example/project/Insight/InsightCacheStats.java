@@ -0,0 +1,15 @@
+package OSHI.example.project.Insight;
+
+// Counters of one InsightCache. Misses count keys fetched upstream and loads the upstream calls
+// that fetched them, so misses / loads is the batching factor; coalesced lookups waited on a call
+// another request had already started.
+public record InsightCacheStats(
+        int size,
+        int capacity,
+        long ttlMs,
+        long hits,
+        long misses,
+        long loads,
+        long coalesced,
+        long failures) {
+}
@@ -0,0 +1,11 @@
+package OSHI.example.project.Insight;
+
+// A text-completion model behind the insight endpoints. Implementations block until the model
+// answers and throw InsightUnavailableException when it can't; callers cache and coalesce, so an
+// implementation never sees two identical prompts in flight at once.
+public interface InsightClient {
+
+    String name();
+
+    String complete(String prompt);
+}
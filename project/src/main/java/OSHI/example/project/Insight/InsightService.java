@@ -0,0 +1,128 @@
+package OSHI.example.project.Insight;
+
+import OSHI.example.project.Collector.HostProfile;
+import OSHI.example.project.DTO.AlertDTO;
+import OSHI.example.project.DTO.DiskDTO;
+import OSHI.example.project.DTO.InsightDTO;
+import OSHI.example.project.DTO.ProcessDTO;
+import OSHI.example.project.DTO.SystemMetricsDTO;
+import OSHI.example.project.Sampler.MetricsSampler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+// Model-written health insights for the current snapshot, served from the backend so every open
+// dashboard shares one model call instead of each tab making its own. The snapshot is quantized
+// into a SnapshotKey (CPU, memory and fullest-disk buckets plus the set of active alert kinds);
+// while the key is unchanged the cached answer is served, and concurrent requests for a key that
+// isn't cached yet wait on a single upstream call.
+@Service
+public class InsightService {
+
+    private static final Logger log = LoggerFactory.getLogger(InsightService.class);
+    private static final int TOP_PROCESSES = 3;
+
+    private final MetricsSampler metricsSampler;
+    private final HostProfile hostProfile;
+    private final InsightClient client;
+    private final ObjectReader answerReader;
+    private final InsightCache<SnapshotKey, InsightDTO> cache;
+    private final double bucketPercent;
+
+    // Two snapshots with the same key get the same answer
+    record SnapshotKey(int cpuBucket, int memoryBucket, int diskBucket, List<String> alerts) {
+    }
+
+    public InsightService(MetricsSampler metricsSampler, HostProfile hostProfile, InsightClient client,
+                          ObjectMapper objectMapper,
+                          @Value("${monitor.insight.bucket-percent:10}") double bucketPercent,
+                          @Value("${monitor.insight.ttl-ms:300000}") long ttlMs,
+                          @Value("${monitor.insight.max-entries:64}") int maxEntries) {
+        this.metricsSampler = metricsSampler;
+        this.hostProfile = hostProfile;
+        this.client = client;
+        this.answerReader = objectMapper.readerFor(InsightDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.bucketPercent = bucketPercent;
+        this.cache = new InsightCache<>(ttlMs, maxEntries);
+        log.info("Insights served by the {} client", client.name());
+    }
+
+    public InsightDTO getSystemInsight() {
+        SystemMetricsDTO metrics = metricsSampler.getMetrics();
+        return cache.get(keyOf(metrics), () -> generate(metrics));
+    }
+
+    public InsightCacheStats getStats() {
+        return cache.getStats();
+    }
+
+    SnapshotKey keyOf(SystemMetricsDTO metrics) {
+        double cpu = metrics.getDashboard() != null ? metrics.getDashboard().getCpuUsage() : 0.0;
+        double memory = metrics.getMemory() != null ? metrics.getMemory().getUsagePercentage() : 0.0;
+        double disk = 0.0;
+        for (DiskDTO d : metrics.getDisks()) {
+            disk = Math.max(disk, d.getUsagePercentage());
+        }
+        // Kinds only: alert messages carry live numbers that would defeat the cache
+        TreeSet<String> alerts = new TreeSet<>();
+        for (AlertDTO alert : metrics.getAlerts()) {
+            alerts.add(alert.getType() + ":" + alert.getLevel());
+        }
+        return new SnapshotKey(bucket(cpu), bucket(memory), bucket(disk), List.copyOf(alerts));
+    }
+
+    private int bucket(double percent) {
+        return (int) (percent / bucketPercent);
+    }
+
+    private InsightDTO generate(SystemMetricsDTO metrics) {
+        String text = client.complete(prompt(metrics));
+        InsightDTO insight = parse(text);
+        insight.setModel(client.name());
+        insight.setGeneratedAt(System.currentTimeMillis());
+        return insight;
+    }
+
+    private String prompt(SystemMetricsDTO metrics) {
+        StringBuilder prompt = new StringBuilder(1024);
+        prompt.append("You are an expert system administrator. Assess the health of this host.\n");
+        SnapshotPrompt.appendContext(prompt, hostProfile, metrics);
+        List<ProcessDTO> processes = metrics.getProcesses();
+        for (int i = 0; i < Math.min(TOP_PROCESSES, processes.size()); i++) {
+            ProcessDTO process = processes.get(i);
+            prompt.append(String.format(Locale.ROOT, "process %s: %.1f%% cpu, %.2f GiB%n", process.getName(),
+                    process.getCpuUsage(), process.getMemoryUsage() / SnapshotPrompt.GIB));
+        }
+        prompt.append("Reply with JSON only: {\"healthScore\": 1-10, \"summary\": \"one line\", ")
+                .append("\"insights\": [], \"recommendations\": [], \"predictions\": [], \"bottlenecks\": []}\n");
+        return prompt.toString();
+    }
+
+    private InsightDTO parse(String text) {
+        String json = SnapshotPrompt.extractJson(text, '{', '}');
+        if (json != null) {
+            try {
+                return answerReader.readValue(json);
+            } catch (JsonProcessingException e) {
+                log.debug("Unparseable insight answer: {}", e.getMessage());
+            }
+        }
+        InsightDTO insight = new InsightDTO();
+        insight.setSummary("Analysis complete");
+        insight.setInsights(List.of(text.length() > 200 ? text.substring(0, 200) + "..." : text));
+        insight.setRecommendations(List.of());
+        insight.setPredictions(List.of());
+        insight.setBottlenecks(List.of());
+        return insight;
+    }
+}
@@ -0,0 +1,175 @@
+package OSHI.example.project.Insight;
+
+import OSHI.example.project.Collector.HostProfile;
+import OSHI.example.project.DTO.ProcessDTO;
+import OSHI.example.project.DTO.ProcessInsightDTO;
+import OSHI.example.project.DTO.ProcessPredictionDTO;
+import OSHI.example.project.DTO.SystemMetricsDTO;
+import OSHI.example.project.Exception.InsightUnavailableException;
+import OSHI.example.project.Sampler.MetricsSampler;
+import OSHI.example.project.Sampler.MetricsSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Model predictions for several processes from one upstream call. The prompt carries the system
+// context once, then one short line per process under a ref (P1, P2, ...), and the model answers
+// with a JSON object keyed by ref that is fanned back out per process.
+//
+// Answers are cached per process under (pid, startTime, load bucket): the process's own CPU and
+// RSS buckets plus the system CPU and memory buckets. A request only sends the processes it has
+// no fresh answer for, and processes another request is already asking about are waited on rather
+// than asked again.
+@Service
+public class ProcessInsightService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessInsightService.class);
+
+    private final MetricsSampler metricsSampler;
+    private final HostProfile hostProfile;
+    private final InsightClient client;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader predictionReader;
+    private final InsightCache<ProcessKey, ProcessInsightDTO> cache;
+    private final double bucketPercent;
+    private final int maxBatch;
+
+    // rssBucket is log2 of RSS in MiB, so a process doubling its memory gets a new answer
+    record ProcessKey(int pid, long startTime, int cpuBucket, int rssBucket, int systemCpuBucket,
+                      int systemMemoryBucket) {
+    }
+
+    public ProcessInsightService(MetricsSampler metricsSampler, HostProfile hostProfile, InsightClient client,
+                                 ObjectMapper objectMapper,
+                                 @Value("${monitor.insight.bucket-percent:10}") double bucketPercent,
+                                 @Value("${monitor.insight.ttl-ms:300000}") long ttlMs,
+                                 @Value("${monitor.insight.process.max-entries:512}") int maxEntries,
+                                 @Value("${monitor.insight.process.max-batch:20}") int maxBatch) {
+        this.metricsSampler = metricsSampler;
+        this.hostProfile = hostProfile;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.predictionReader = objectMapper.readerFor(ProcessPredictionDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.bucketPercent = bucketPercent;
+        this.maxBatch = maxBatch;
+        this.cache = new InsightCache<>(ttlMs, maxEntries);
+    }
+
+    // Answers in request order; PIDs not in the current process rankings are left out
+    public List<ProcessInsightDTO> analyze(List<Integer> pids) {
+        if (pids == null || pids.isEmpty()) {
+            throw new IllegalArgumentException("pids must not be empty");
+        }
+        if (pids.size() > maxBatch) {
+            throw new IllegalArgumentException("At most " + maxBatch + " pids per request");
+        }
+        MetricsSnapshot snapshot = metricsSampler.getSnapshot();
+        SystemMetricsDTO metrics = snapshot.metrics();
+        Map<ProcessKey, ProcessDTO> processes = new LinkedHashMap<>();
+        for (int pid : pids) {
+            ProcessDTO process = snapshot.processRankings().find(pid);
+            if (process != null) {
+                processes.put(keyOf(process, metrics), process);
+            }
+        }
+        Map<ProcessKey, ProcessInsightDTO> answers = cache.getAll(processes.keySet(),
+                keys -> generate(keys, processes, metrics));
+        List<ProcessInsightDTO> result = new ArrayList<>(processes.size());
+        for (ProcessKey key : processes.keySet()) {
+            result.add(answers.get(key));
+        }
+        return result;
+    }
+
+    public InsightCacheStats getStats() {
+        return cache.getStats();
+    }
+
+    private ProcessKey keyOf(ProcessDTO process, SystemMetricsDTO metrics) {
+        double systemCpu = metrics.getDashboard() != null ? metrics.getDashboard().getCpuUsage() : 0.0;
+        double systemMemory = metrics.getMemory() != null ? metrics.getMemory().getUsagePercentage() : 0.0;
+        long rssMb = Math.max(process.getMemoryUsage() >> 20, 1);
+        return new ProcessKey(process.getPid(), process.getStartTime(), bucket(process.getCpuUsage()),
+                63 - Long.numberOfLeadingZeros(rssMb), bucket(systemCpu), bucket(systemMemory));
+    }
+
+    private int bucket(double percent) {
+        return (int) (percent / bucketPercent);
+    }
+
+    private Map<ProcessKey, ProcessInsightDTO> generate(List<ProcessKey> keys, Map<ProcessKey, ProcessDTO> processes,
+                                                        SystemMetricsDTO metrics) {
+        StringBuilder prompt = new StringBuilder(1024 + keys.size() * 96);
+        prompt.append("You are an expert system administrator. Predict issues in the next 5-60 minutes ")
+                .append("for each process below, given this host.\n");
+        SnapshotPrompt.appendContext(prompt, hostProfile, metrics);
+        prompt.append("processes:\n");
+        for (int i = 0; i < keys.size(); i++) {
+            ProcessDTO process = processes.get(keys.get(i));
+            prompt.append(String.format(Locale.ROOT, "P%d %s (pid %d): %.1f%% cpu, %.2f GiB rss, %d threads, %s%n",
+                    i + 1, process.getName(), process.getPid(), process.getCpuUsage(),
+                    process.getMemoryUsage() / SnapshotPrompt.GIB, process.getThreadCount(), process.getState()));
+        }
+        prompt.append("Reply with JSON only, one entry per process ref, [] when nothing is likely: ")
+                .append("{\"P1\": [{\"type\": \"CPU_SPIKE|CRASH_RISK|HANG_RISK|MEMORY_LEAK|PERFORMANCE_DEGRADATION\", ")
+                .append("\"confidence\": 0-100, \"message\": \"...\", \"severity\": \"low|medium|high\", ")
+                .append("\"predictionTimeframe\": \"...\", \"suggestedAction\": \"...\", \"probabilityFactors\": []}]}\n")
+                .append("Only include predictions with at least 50% confidence.\n");
+
+        JsonNode answer = parse(client.complete(prompt.toString()));
+        long now = System.currentTimeMillis();
+        Map<ProcessKey, ProcessInsightDTO> insights = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            ProcessDTO process = processes.get(keys.get(i));
+            ProcessInsightDTO insight = new ProcessInsightDTO();
+            insight.setPid(process.getPid());
+            insight.setStartTime(process.getStartTime());
+            insight.setName(process.getName());
+            // A process the model skipped gets no predictions rather than failing the batch
+            insight.setPredictions(predictions(answer.path("P" + (i + 1))));
+            insight.setModel(client.name());
+            insight.setGeneratedAt(now);
+            insights.put(keys.get(i), insight);
+        }
+        return insights;
+    }
+
+    private JsonNode parse(String text) {
+        String json = SnapshotPrompt.extractJson(text, '{', '}');
+        if (json != null) {
+            try {
+                return objectMapper.readTree(json);
+            } catch (JsonProcessingException e) {
+                log.debug("Unparseable process insight answer: {}", e.getMessage());
+            }
+        }
+        throw new InsightUnavailableException("Model answer was not a JSON object");
+    }
+
+    private List<ProcessPredictionDTO> predictions(JsonNode node) {
+        List<ProcessPredictionDTO> predictions = new ArrayList<>();
+        for (JsonNode element : node) {
+            try {
+                predictions.add(predictionReader.readValue(element));
+            } catch (IOException e) {
+                log.debug("Skipping malformed prediction: {}", e.getMessage());
+            }
+        }
+        return predictions;
+    }
+}
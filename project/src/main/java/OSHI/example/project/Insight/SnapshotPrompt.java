@@ -0,0 +1,59 @@
+package OSHI.example.project.Insight;
+
+import OSHI.example.project.Collector.HostProfile;
+import OSHI.example.project.DTO.AlertDTO;
+import OSHI.example.project.DTO.DiskDTO;
+import OSHI.example.project.DTO.SystemMetricsDTO;
+
+import java.util.Locale;
+
+// Prompt pieces shared by the insight services. Context is one line per fact, so the model gets
+// what it needs and nothing else, and the stub client can read the figures back.
+final class SnapshotPrompt {
+
+    static final double GIB = 1024.0 * 1024 * 1024;
+
+    private SnapshotPrompt() {
+    }
+
+    static void appendContext(StringBuilder prompt, HostProfile host, SystemMetricsDTO metrics) {
+        prompt.append(String.format(Locale.ROOT, "host: %s %s, %s, %d cores, %.1f GiB RAM%n",
+                host.osFamily(), host.osVersion(), host.cpuName(), host.logicalCores(), host.totalMemory() / GIB));
+        if (metrics.getDashboard() != null) {
+            prompt.append(String.format(Locale.ROOT, "cpu: %.1f%%%n", metrics.getDashboard().getCpuUsage()));
+        }
+        if (metrics.getCpu() != null && metrics.getCpu().getLoadAverages() != null) {
+            double[] load = metrics.getCpu().getLoadAverages();
+            prompt.append(String.format(Locale.ROOT, "load: %.2f %.2f %.2f%n", load[0], load[1], load[2]));
+        }
+        if (metrics.getMemory() != null) {
+            prompt.append(String.format(Locale.ROOT, "memory: %.1f%%, %.1f GiB available%n",
+                    metrics.getMemory().getUsagePercentage(), metrics.getMemory().getAvailable() / GIB));
+        }
+        for (DiskDTO disk : metrics.getDisks()) {
+            prompt.append(String.format(Locale.ROOT, "disk %s: %.1f%% used",
+                    disk.getMountPoint(), disk.getUsagePercentage()));
+            if (disk.getProjectedFullAt() != null) {
+                prompt.append(String.format(Locale.ROOT, ", projected full in %.0fh",
+                        (disk.getProjectedFullAt() - System.currentTimeMillis()) / 3_600_000.0));
+            }
+            prompt.append('\n');
+        }
+        StringBuilder alerts = new StringBuilder();
+        for (AlertDTO alert : metrics.getAlerts()) {
+            alerts.append(alerts.isEmpty() ? "" : "; ").append(alert.getLevel()).append(' ').append(alert.getMessage());
+        }
+        prompt.append("alerts: ").append(alerts.isEmpty() ? "none" : alerts).append('\n');
+        if (metrics.getDashboard() != null) {
+            prompt.append("status: ").append(metrics.getDashboard().getStatus()).append('\n');
+        }
+    }
+
+    // Models wrap JSON in prose or code fences often enough that the outermost value is cut out
+    // first; null when there is none
+    static String extractJson(String text, char open, char close) {
+        int start = text.indexOf(open);
+        int end = text.lastIndexOf(close);
+        return start >= 0 && end > start ? text.substring(start, end + 1) : null;
+    }
+}
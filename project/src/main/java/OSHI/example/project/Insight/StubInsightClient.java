@@ -0,0 +1,127 @@
+package OSHI.example.project.Insight;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Local stand-in for the model, used offline and in tests: reads the figures back out of the
+// prompt and answers in the same JSON shape a model is asked for, without any network call.
+@Component
+@ConditionalOnProperty(name = "monitor.insight.client", havingValue = "stub", matchIfMissing = true)
+public class StubInsightClient implements InsightClient {
+
+    private static final Pattern CPU = Pattern.compile("(?m)^cpu: ([\\d.]+)%");
+    private static final Pattern MEMORY = Pattern.compile("(?m)^memory: ([\\d.]+)%");
+    private static final Pattern ALERTS = Pattern.compile("(?m)^alerts: (.*)$");
+    private static final Pattern PROCESS = Pattern.compile(
+            "(?m)^(P\\d+) (.*) \\(pid \\d+\\): ([\\d.]+)% cpu, ([\\d.]+) GiB rss, (\\d+) threads");
+
+    private final ObjectMapper objectMapper;
+
+    public StubInsightClient(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public String complete(String prompt) {
+        return toJson(prompt.contains("\nprocesses:\n") ? processAnswer(prompt) : systemAnswer(prompt));
+    }
+
+    private Map<String, Object> systemAnswer(String prompt) {
+        double cpu = number(CPU, prompt);
+        double memory = number(MEMORY, prompt);
+        Matcher alertMatcher = ALERTS.matcher(prompt);
+        String alerts = alertMatcher.find() ? alertMatcher.group(1) : "none";
+        int alertCount = "none".equals(alerts) ? 0 : alerts.split("; ").length;
+
+        List<String> insights = new ArrayList<>();
+        List<String> bottlenecks = new ArrayList<>();
+        insights.add(String.format(Locale.ROOT, "CPU at %.0f%%, memory at %.0f%%", cpu, memory));
+        if (cpu >= 70) {
+            bottlenecks.add("CPU");
+        }
+        if (memory >= 80) {
+            bottlenecks.add("Memory");
+        }
+        if (alertCount > 0) {
+            insights.add(alertCount + " active alert(s): " + alerts);
+        }
+        int score = 10 - (cpu >= 90 ? 4 : cpu >= 70 ? 2 : 0) - (memory >= 90 ? 3 : memory >= 80 ? 1 : 0)
+                - Math.min(alertCount, 3);
+
+        Map<String, Object> answer = new LinkedHashMap<>();
+        answer.put("healthScore", Math.max(score, 1));
+        answer.put("summary", bottlenecks.isEmpty() ? "System healthy" : "Pressure on " + String.join(", ", bottlenecks));
+        answer.put("insights", insights);
+        answer.put("recommendations", bottlenecks.isEmpty()
+                ? List.of("No action needed")
+                : List.of("Review the top processes for " + String.join(" and ", bottlenecks).toLowerCase(Locale.ROOT) + " usage"));
+        answer.put("predictions", List.of());
+        answer.put("bottlenecks", bottlenecks);
+        return answer;
+    }
+
+    // Flags heavy CPU and memory users, keyed by the refs the prompt used
+    private Map<String, Object> processAnswer(String prompt) {
+        Map<String, Object> answer = new LinkedHashMap<>();
+        Matcher matcher = PROCESS.matcher(prompt);
+        while (matcher.find()) {
+            String name = matcher.group(2);
+            double cpu = Double.parseDouble(matcher.group(3));
+            double rssGib = Double.parseDouble(matcher.group(4));
+            List<Map<String, Object>> predictions = new ArrayList<>();
+            if (cpu >= 50) {
+                predictions.add(prediction("CPU_SPIKE", cpu >= 80 ? 80 : 60, cpu >= 80 ? "high" : "medium",
+                        String.format(Locale.ROOT, "%s is using %.0f%% CPU", name, cpu),
+                        "Check what the process is busy with"));
+            }
+            if (rssGib >= 2) {
+                predictions.add(prediction("MEMORY_LEAK", 55, "medium",
+                        String.format(Locale.ROOT, "%s holds %.1f GiB resident", name, rssGib),
+                        "Watch its memory growth"));
+            }
+            answer.put(matcher.group(1), predictions);
+        }
+        return answer;
+    }
+
+    private static Map<String, Object> prediction(String type, int confidence, String severity, String message,
+                                                  String action) {
+        Map<String, Object> prediction = new LinkedHashMap<>();
+        prediction.put("type", type);
+        prediction.put("confidence", confidence);
+        prediction.put("message", message);
+        prediction.put("severity", severity);
+        prediction.put("predictionTimeframe", "15 minutes");
+        prediction.put("suggestedAction", action);
+        prediction.put("probabilityFactors", List.of());
+        return prediction;
+    }
+
+    private static double number(Pattern pattern, String prompt) {
+        Matcher matcher = pattern.matcher(prompt);
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : 0.0;
+    }
+
+    private String toJson(Object answer) {
+        try {
+            return objectMapper.writeValueAsString(answer);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stub answer could not be serialized", e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package OSHI.example.project.Prediction;
+
+import OSHI.example.project.DTO.AlertDTO;
+import OSHI.example.project.DTO.AnomalyDTO;
+import OSHI.example.project.History.SeriesExtractor;
+import OSHI.example.project.Sampler.AlertContributor;
+import OSHI.example.project.Sampler.MetricsSnapshot;
+import OSHI.example.project.Sampler.SnapshotListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Online anomaly detection for every series the sampler produces, relative to each series' own
+// baseline rather than a fixed threshold: 85% CPU on a node that always runs at 85% is quiet, a
+// jump from 10% to 40% is not. Each series keeps an EWMA mean and variance; a sample scoring
+// beyond z-warning standard deviations is anomalous. Near-constant series, such as an idle
+// interface at 0 B/s, would score huge z on the first small burst, so every series also has an
+// absolute floor in its own unit: a move smaller than the floor is never anomalous, and the
+// standard deviation is never taken below floor / z-warning.
+//
+// The update path allocates nothing: state lives in primitive arrays indexed by series id, names
+// come pre-built from the extractor, and detected events go into a preallocated ring. Objects are
+// only created when an alert or the event list is read. Active anomalies surface as ANOMALY alerts
+// on the snapshot after the one that triggered them, and stop once their series has sent nothing
+// for stale-intervals of its own sample interval (an interface or mount went away, or its
+// collector was disabled).
+@Component
+public class AnomalyDetector implements SnapshotListener, AlertContributor {
+
+    private final SeriesExtractor extractor = new SeriesExtractor();
+    private final SeriesIndex index = new SeriesIndex();
+    private final SeriesExtractor.SeriesSink updater = this::update;
+
+    // Per-series state, indexed by series id
+    private double[] mean = new double[64];
+    private double[] variance = new double[64];
+    private long[] count = new long[64];
+    // Last score while anomalous, 0 otherwise
+    private double[] activeZ = new double[64];
+    private double[] activeValue = new double[64];
+    private long[] activeSince = new long[64];
+    // Absolute deviation floor in the series' unit, fixed when the series first appears
+    private double[] floor = new double[64];
+    private long[] lastTimestamp = new long[64];
+    private long[] lastInterval = new long[64];
+
+    // Ring of anomaly onsets
+    private final long[] eventTimestamps;
+    private final int[] eventSeries;
+    private final double[] eventValues;
+    private final double[] eventBaselines;
+    private final double[] eventZ;
+    private int eventHead;
+    private int eventCount;
+
+    @Value("${monitor.anomaly.alpha:0.05}")
+    private double alpha;
+
+    @Value("${monitor.anomaly.z-warning:3.5}")
+    private double zWarning;
+
+    @Value("${monitor.anomaly.z-critical:6.0}")
+    private double zCritical;
+
+    @Value("${monitor.anomaly.warmup-samples:60}")
+    private int warmupSamples;
+
+    @Value("${monitor.anomaly.min-deviation:5.0}")
+    private double minDeviation;
+
+    @Value("${monitor.anomaly.min-deviation-bytes-per-second:65536}")
+    private double minDeviationBytesPerSecond;
+
+    @Value("${monitor.anomaly.min-deviation-celsius:5.0}")
+    private double minDeviationCelsius;
+
+    @Value("${monitor.anomaly.stale-intervals:3}")
+    private int staleIntervals;
+
+    public AnomalyDetector(@Value("${monitor.anomaly.event-capacity:256}") int eventCapacity) {
+        this.eventTimestamps = new long[eventCapacity];
+        this.eventSeries = new int[eventCapacity];
+        this.eventValues = new double[eventCapacity];
+        this.eventBaselines = new double[eventCapacity];
+        this.eventZ = new double[eventCapacity];
+    }
+
+    @Override
+    public synchronized void onSnapshot(MetricsSnapshot snapshot) {
+        extractor.extract(snapshot, updater);
+    }
+
+    @Override
+    public synchronized void contribute(long now, List<AlertDTO> alerts) {
+        for (int id = 0; id < index.size(); id++) {
+            double z = activeZ[id];
+            if (z == 0) {
+                continue;
+            }
+            if (now - lastTimestamp[id] > staleIntervals * Math.max(lastInterval[id], 1000L)) {
+                // The series stopped arriving while anomalous
+                activeZ[id] = 0;
+                continue;
+            }
+            String metric = index.nameOf(id);
+            AlertDTO alert = new AlertDTO();
+            alert.setType("ANOMALY");
+            alert.setLevel(Math.abs(z) >= zCritical ? "CRITICAL" : "WARNING");
+            // Stable per series and direction so consumers can de-duplicate on it
+            alert.setMessage((z > 0 ? "Unusual rise in " : "Unusual drop in ") + metric);
+            alert.setValue(activeValue[id]);
+            alert.setThreshold(String.format("z=%.1f vs baseline %.1f", z, mean[id]));
+            alert.setTimestamp(activeSince[id]);
+            alerts.add(alert);
+        }
+    }
+
+    // Most recent onsets first
+    public synchronized List<AnomalyDTO> getRecentAnomalies() {
+        List<AnomalyDTO> anomalies = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            int slot = Math.floorMod(eventHead - 1 - i, eventTimestamps.length);
+            AnomalyDTO anomaly = new AnomalyDTO();
+            anomaly.setMetric(index.nameOf(eventSeries[slot]));
+            anomaly.setTimestamp(eventTimestamps[slot]);
+            anomaly.setValue(eventValues[slot]);
+            anomaly.setBaseline(eventBaselines[slot]);
+            anomaly.setZScore(eventZ[slot]);
+            anomaly.setLevel(Math.abs(eventZ[slot]) >= zCritical ? "CRITICAL" : "WARNING");
+            anomalies.add(anomaly);
+        }
+        return anomalies;
+    }
+
+    private void update(String metric, long timestamp, double value) {
+        int id = index.idOf(metric);
+        ensureCapacity(id);
+        long n = count[id]++;
+        if (n == 0) {
+            mean[id] = value;
+            floor[id] = unitFloor(metric);
+            lastTimestamp[id] = timestamp;
+            return;
+        }
+        lastInterval[id] = timestamp - lastTimestamp[id];
+        lastTimestamp[id] = timestamp;
+
+        double deviation = value - mean[id];
+        if (n >= warmupSamples) {
+            double minMove = Math.max(floor[id], Math.abs(mean[id]) * minDeviation / 100.0);
+            double sd = Math.max(Math.sqrt(variance[id]), floor[id] / zWarning);
+            double z = sd > 0 ? deviation / sd : 0.0;
+            boolean anomalous = Math.abs(z) >= zWarning && Math.abs(deviation) >= minMove;
+            if (anomalous) {
+                if (activeZ[id] == 0) {
+                    activeSince[id] = timestamp;
+                    recordEvent(id, timestamp, value, mean[id], z);
+                }
+                activeZ[id] = z;
+                activeValue[id] = value;
+            } else {
+                activeZ[id] = 0;
+            }
+        }
+
+        // EWMA mean and variance (West's incremental form)
+        double increment = alpha * deviation;
+        mean[id] += increment;
+        variance[id] = (1 - alpha) * (variance[id] + deviation * increment);
+    }
+
+    // Percentages move in points, network rates in bytes/s, temperatures in degrees; on top of
+    // that every move must also be min-deviation percent of the baseline
+    private double unitFloor(String metric) {
+        if (SeriesIndex.isPercentage(metric)) {
+            return minDeviation;
+        } else if (metric.startsWith("net.")) {
+            return minDeviationBytesPerSecond;
+        } else if (metric.equals("temperature")) {
+            return minDeviationCelsius;
+        }
+        return 0.0;
+    }
+
+    private void recordEvent(int id, long timestamp, double value, double baseline, double z) {
+        eventTimestamps[eventHead] = timestamp;
+        eventSeries[eventHead] = id;
+        eventValues[eventHead] = value;
+        eventBaselines[eventHead] = baseline;
+        eventZ[eventHead] = z;
+        eventHead = (eventHead + 1) % eventTimestamps.length;
+        eventCount = Math.min(eventCount + 1, eventTimestamps.length);
+    }
+
+    // Only grows when a new series appears, never in steady state
+    private void ensureCapacity(int id) {
+        if (id < mean.length) {
+            return;
+        }
+        int size = Math.max(mean.length * 2, id + 1);
+        mean = Arrays.copyOf(mean, size);
+        variance = Arrays.copyOf(variance, size);
+        count = Arrays.copyOf(count, size);
+        activeZ = Arrays.copyOf(activeZ, size);
+        activeValue = Arrays.copyOf(activeValue, size);
+        activeSince = Arrays.copyOf(activeSince, size);
+        floor = Arrays.copyOf(floor, size);
+        lastTimestamp = Arrays.copyOf(lastTimestamp, size);
+        lastInterval = Arrays.copyOf(lastInterval, size);
+    }
+}
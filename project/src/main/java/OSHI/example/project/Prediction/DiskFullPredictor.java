@@ -0,0 +1,119 @@
+package OSHI.example.project.Prediction;
+
+import OSHI.example.project.DTO.AlertDTO;
+import OSHI.example.project.DTO.DiskDTO;
+import OSHI.example.project.Sampler.AlertContributor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Time-to-full per mount, so a log volume filling at a steady rate is flagged hours before the
+// fixed 90/95% thresholds fire. Each mount keeps a WeightedTrend of free space over time, so an
+// update is O(1) with no stored window, and the fitted line is extrapolated to zero.
+//
+// Confidence is the weighted R^2 of the fit: a steady fill scores near 1, a volume whose free
+// space jumps around scores low and doesn't alert.
+@Component
+public class DiskFullPredictor implements AlertContributor {
+
+    private static final double HOUR_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final Map<String, MountFit> fits = new HashMap<>();
+    private long generation;
+
+    @Value("${monitor.disk.forecast-half-life-hours:6}")
+    private double halfLifeHours;
+
+    @Value("${monitor.disk.forecast-min-samples:20}")
+    private int minSamples;
+
+    @Value("${monitor.disk.forecast-horizon-hours:48}")
+    private double horizonHours;
+
+    @Value("${monitor.disk.forecast-critical-hours:6}")
+    private double criticalHours;
+
+    @Value("${monitor.disk.forecast-min-confidence:0.8}")
+    private double minConfidence;
+
+    // Feeds one disk collection and fills projectedFullAt / projectionConfidence on each DTO.
+    // Mounts missing from the list are dropped.
+    public synchronized void observe(List<DiskDTO> disks, long now) {
+        long scan = ++generation;
+        for (DiskDTO disk : disks) {
+            MountFit fit = fits.computeIfAbsent(disk.getMountPoint(), mount -> new MountFit());
+            fit.generation = scan;
+            if (fit.totalSpace != disk.getTotalSpace()) {
+                // Resized or remounted: the old trend says nothing about the new volume
+                fit.reset(disk.getTotalSpace());
+            }
+            fit.trend.add(now, disk.getFreeSpace(), halfLifeHours);
+            fit.project(now, minSamples);
+            disk.setProjectedFullAt(fit.projectedFullAt > 0 ? fit.projectedFullAt : null);
+            disk.setProjectionConfidence(fit.confidence);
+            fit.name = disk.getName();
+        }
+        fits.values().removeIf(fit -> fit.generation != scan);
+    }
+
+    @Override
+    public synchronized void contribute(long now, List<AlertDTO> alerts) {
+        for (MountFit fit : fits.values()) {
+            if (fit.projectedFullAt <= 0 || fit.confidence < minConfidence) {
+                continue;
+            }
+            double hoursLeft = Math.max(fit.projectedFullAt - now, 0) / HOUR_MS;
+            if (hoursLeft > horizonHours) {
+                continue;
+            }
+            AlertDTO alert = new AlertDTO();
+            alert.setType("DISK_FORECAST");
+            alert.setLevel(hoursLeft <= criticalHours ? "CRITICAL" : "WARNING");
+            // Stable per disk and level so consumers can de-duplicate on it
+            alert.setMessage(String.format("Disk %s projected to fill within %.0fh", fit.name,
+                    hoursLeft <= criticalHours ? criticalHours : horizonHours));
+            alert.setValue(hoursLeft);
+            alert.setThreshold(String.format("full at %s (confidence %.2f)",
+                    Instant.ofEpochMilli(fit.projectedFullAt), fit.confidence));
+            alert.setTimestamp(now);
+            alerts.add(alert);
+        }
+    }
+
+    private static final class MountFit {
+        private final WeightedTrend trend = new WeightedTrend();
+        private String name;
+        private long totalSpace;
+        private long generation;
+        private long projectedFullAt;
+        private double confidence;
+
+        private void reset(long totalSpace) {
+            this.totalSpace = totalSpace;
+            trend.reset();
+            projectedFullAt = 0;
+            confidence = 0;
+        }
+
+        private void project(long now, int minSamples) {
+            projectedFullAt = 0;
+            confidence = 0;
+            if (trend.samples() < minSamples) {
+                return;
+            }
+            confidence = trend.rSquared();
+            double slope = trend.slope();
+            if (slope >= 0) {
+                // Free space flat or growing
+                return;
+            }
+            double hoursLeft = Math.max(trend.fittedValue(), 0) / -slope;
+            projectedFullAt = now + Math.round(hoursLeft * HOUR_MS);
+        }
+    }
+}
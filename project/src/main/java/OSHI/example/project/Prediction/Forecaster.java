@@ -0,0 +1,149 @@
+package OSHI.example.project.Prediction;
+
+import OSHI.example.project.DTO.ForecastPointDTO;
+import OSHI.example.project.DTO.PredictionDTO;
+import OSHI.example.project.History.SeriesExtractor;
+import OSHI.example.project.Sampler.MetricsSnapshot;
+import OSHI.example.project.Sampler.SnapshotListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Short-horizon forecasts for every recorded series using Holt's double exponential smoothing
+// (level + trend). Each sample is an O(1) update of a few doubles in arrays indexed by series id,
+// so running on every tick for every series costs well under a microsecond per series. The
+// one-step error variance is tracked alongside, which gives a prediction interval that widens with
+// the horizon.
+@Component
+public class Forecaster implements SnapshotListener {
+
+    private final SeriesExtractor extractor = new SeriesExtractor();
+    private final SeriesIndex index = new SeriesIndex();
+
+    // Per-series state, indexed by series id
+    private double[] level = new double[64];
+    private double[] trend = new double[64];
+    private double[] variance = new double[64];
+    private double[] intervalMs = new double[64];
+    private long[] lastTimestamp = new long[64];
+    private long[] count = new long[64];
+
+    private long updates;
+    private long updateNanos;
+
+    @Value("${monitor.prediction.alpha:0.3}")
+    private double alpha;
+
+    @Value("${monitor.prediction.beta:0.1}")
+    private double beta;
+
+    @Value("${monitor.prediction.z:1.96}")
+    private double z;
+
+    @Value("${monitor.prediction.min-samples:10}")
+    private int minSamples;
+
+    @Value("${monitor.prediction.horizons-ms:60000,300000,900000}")
+    private long[] horizonsMs;
+
+    @Override
+    public void onSnapshot(MetricsSnapshot snapshot) {
+        long started = System.nanoTime();
+        synchronized (this) {
+            extractor.extract(snapshot, this::update);
+            updateNanos += System.nanoTime() - started;
+        }
+    }
+
+    public synchronized List<PredictionDTO> getPredictions() {
+        List<PredictionDTO> predictions = new ArrayList<>();
+        for (int id = 0; id < index.size(); id++) {
+            if (count[id] >= minSamples) {
+                predictions.add(predict(id));
+            }
+        }
+        return predictions;
+    }
+
+    public synchronized double getMeanUpdateNanos() {
+        return updates > 0 ? (double) updateNanos / updates : 0.0;
+    }
+
+    private void update(String metric, long timestamp, double value) {
+        int id = index.idOf(metric);
+        ensureCapacity(id);
+        updates++;
+        long n = count[id]++;
+        if (n == 0) {
+            level[id] = value;
+            lastTimestamp[id] = timestamp;
+            return;
+        }
+        long dt = timestamp - lastTimestamp[id];
+        lastTimestamp[id] = timestamp;
+        intervalMs[id] = n == 1 ? dt : 0.8 * intervalMs[id] + 0.2 * dt;
+        if (n == 1) {
+            trend[id] = value - level[id];
+            level[id] = value;
+            return;
+        }
+        double error = value - (level[id] + trend[id]);
+        // Smoothed with the same weight as the level so the interval adapts as fast as the forecast
+        variance[id] = n == 2 ? error * error : (1 - alpha) * variance[id] + alpha * error * error;
+        double previousLevel = level[id];
+        level[id] = alpha * value + (1 - alpha) * (previousLevel + trend[id]);
+        trend[id] = beta * (level[id] - previousLevel) + (1 - beta) * trend[id];
+    }
+
+    private PredictionDTO predict(int id) {
+        String metric = index.nameOf(id);
+        boolean percentage = SeriesIndex.isPercentage(metric);
+        double interval = Math.max(intervalMs[id], 1.0);
+
+        List<ForecastPointDTO> points = new ArrayList<>(horizonsMs.length);
+        for (long horizon : horizonsMs) {
+            double h = Math.max(horizon / interval, 1.0);
+            double value = level[id] + h * trend[id];
+            // Holt's h-step variance: sigma^2 * (1 + sum_{j=1}^{h-1} alpha^2 (1 + j*beta)^2), closed form
+            double m = h - 1;
+            double sum = m + beta * h * m + beta * beta * m * h * (2 * h - 1) / 6;
+            double spread = z * Math.sqrt(variance[id] * (1 + alpha * alpha * sum));
+
+            ForecastPointDTO point = new ForecastPointDTO();
+            point.setHorizonMs(horizon);
+            point.setTimestamp(lastTimestamp[id] + horizon);
+            point.setValue(clamp(value, percentage));
+            point.setLower(clamp(value - spread, percentage));
+            point.setUpper(clamp(value + spread, percentage));
+            points.add(point);
+        }
+
+        PredictionDTO prediction = new PredictionDTO();
+        prediction.setMetric(metric);
+        prediction.setCurrentValue(level[id]);
+        prediction.setLastSampleAt(lastTimestamp[id]);
+        prediction.setTrendPerMinute(trend[id] * 60_000.0 / interval);
+        prediction.setForecasts(points);
+        return prediction;
+    }
+
+    private static double clamp(double value, boolean percentage) {
+        return Math.max(0.0, percentage ? Math.min(value, 100.0) : value);
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < level.length) {
+            return;
+        }
+        int size = Math.max(level.length * 2, id + 1);
+        level = Arrays.copyOf(level, size);
+        trend = Arrays.copyOf(trend, size);
+        variance = Arrays.copyOf(variance, size);
+        intervalMs = Arrays.copyOf(intervalMs, size);
+        lastTimestamp = Arrays.copyOf(lastTimestamp, size);
+        count = Arrays.copyOf(count, size);
+    }
+}
@@ -0,0 +1,145 @@
+package OSHI.example.project.Prediction;
+
+import OSHI.example.project.Collector.ProcessSampleListener;
+import OSHI.example.project.DTO.AlertDTO;
+import OSHI.example.project.DTO.LeakSuspectDTO;
+import OSHI.example.project.Sampler.AlertContributor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Flags processes whose RSS has been climbing steadily, long before a slow leak pushes the host
+// into MEMORY_CRITICAL. Every tracked process above min-rss keeps a WeightedTrend of its RSS, fed
+// by each ProcessTracker sample; a process is a suspect once it has been watched for min-duration
+// and its fit shows growth of at least min-growth per hour with an R^2 of at least min-confidence.
+// Sawtooth patterns such as a GC'd heap fit poorly and stay quiet until the floor itself rises.
+//
+// State is one small object per process instance, keyed by (pid, startTime) so a reused PID
+// starts over. Instances missing from a sample have exited and are dropped at its end, and at
+// most max-processes are tracked.
+@Component
+public class MemoryLeakDetector implements ProcessSampleListener, AlertContributor {
+
+    private static final double MB = 1024.0 * 1024.0;
+
+    private final Map<ProcessKey, RssFit> fits = new HashMap<>();
+    private long sampleAt;
+
+    @Value("${monitor.leak.half-life-hours:2}")
+    private double halfLifeHours;
+
+    @Value("${monitor.leak.min-rss-mb:50}")
+    private long minRssMb;
+
+    @Value("${monitor.leak.min-duration-ms:1800000}")
+    private long minDurationMs;
+
+    @Value("${monitor.leak.min-growth-mb-per-hour:10}")
+    private double minGrowthMbPerHour;
+
+    @Value("${monitor.leak.min-confidence:0.8}")
+    private double minConfidence;
+
+    @Value("${monitor.leak.max-processes:1000}")
+    private int maxProcesses;
+
+    private record ProcessKey(int pid, long startTime) {
+    }
+
+    @Override
+    public synchronized void beginSample(long timestamp) {
+        sampleAt = timestamp;
+    }
+
+    @Override
+    public synchronized void process(int pid, long startTime, String name, double cpuPercent, long rss, int threads,
+                                     int bestRank) {
+        ProcessKey key = new ProcessKey(pid, startTime);
+        RssFit fit = fits.get(key);
+        if (fit == null) {
+            if (rss < minRssMb * MB || fits.size() >= maxProcesses) {
+                return;
+            }
+            fit = new RssFit(pid, startTime);
+            fits.put(key, fit);
+        }
+        fit.name = name;
+        fit.rss = rss;
+        fit.lastSeen = sampleAt;
+        fit.trend.add(sampleAt, rss, halfLifeHours);
+    }
+
+    @Override
+    public synchronized void endSample(long timestamp) {
+        fits.values().removeIf(fit -> fit.lastSeen != sampleAt);
+    }
+
+    // Current suspects, fastest growing first
+    public synchronized List<LeakSuspectDTO> getSuspects(int limit) {
+        List<LeakSuspectDTO> suspects = new ArrayList<>();
+        for (RssFit fit : fits.values()) {
+            if (isSuspect(fit)) {
+                suspects.add(fit.toDto());
+            }
+        }
+        suspects.sort(Comparator.comparingDouble(LeakSuspectDTO::getGrowthBytesPerHour).reversed());
+        return suspects.subList(0, Math.min(limit, suspects.size()));
+    }
+
+    @Override
+    public synchronized void contribute(long now, List<AlertDTO> alerts) {
+        for (RssFit fit : fits.values()) {
+            if (!isSuspect(fit)) {
+                continue;
+            }
+            double growthMb = fit.trend.slope() / MB;
+            AlertDTO alert = new AlertDTO();
+            alert.setType("MEMORY_LEAK");
+            alert.setLevel("WARNING");
+            // Stable per process instance so consumers can de-duplicate on it
+            alert.setMessage(String.format("Possible memory leak in %s (pid %d)", fit.name, fit.pid));
+            alert.setValue(growthMb);
+            alert.setThreshold(String.format("+%.1f MB/h (R^2 %.2f, min %.0f MB/h)", growthMb,
+                    fit.trend.rSquared(), minGrowthMbPerHour));
+            alert.setTimestamp(now);
+            alerts.add(alert);
+        }
+    }
+
+    private boolean isSuspect(RssFit fit) {
+        return fit.trend.spanMs() >= minDurationMs
+                && fit.trend.slope() >= minGrowthMbPerHour * MB
+                && fit.trend.rSquared() >= minConfidence;
+    }
+
+    private static final class RssFit {
+        private final int pid;
+        private final long startTime;
+        private final WeightedTrend trend = new WeightedTrend();
+        private String name;
+        private long rss;
+        private long lastSeen;
+
+        private RssFit(int pid, long startTime) {
+            this.pid = pid;
+            this.startTime = startTime;
+        }
+
+        private LeakSuspectDTO toDto() {
+            LeakSuspectDTO dto = new LeakSuspectDTO();
+            dto.setPid(pid);
+            dto.setStartTime(startTime);
+            dto.setName(name);
+            dto.setRss(rss);
+            dto.setGrowthBytesPerHour(trend.slope());
+            dto.setConfidence(trend.rSquared());
+            dto.setObservedMs(trend.spanMs());
+            return dto;
+        }
+    }
+}
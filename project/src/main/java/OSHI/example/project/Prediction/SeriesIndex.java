@@ -0,0 +1,38 @@
+package OSHI.example.project.Prediction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Interns series names to dense int ids so per-series state can live in primitive arrays
+// indexed by id. Not thread safe; owners guard it with their own lock.
+final class SeriesIndex {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+
+    String nameOf(int id) {
+        return names.get(id);
+    }
+
+    int size() {
+        return names.size();
+    }
+
+    // Utilisation series are bounded to 0-100; rates and temperatures only from below
+    static boolean isPercentage(String name) {
+        return name.equals("cpu") || name.startsWith("cpu.core.") || name.equals("memory") || name.equals("swap")
+                || name.startsWith("disk.");
+    }
+}
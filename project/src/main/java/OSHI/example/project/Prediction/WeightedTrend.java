@@ -0,0 +1,90 @@
+package OSHI.example.project.Prediction;
+
+import java.util.concurrent.TimeUnit;
+
+// Exponentially weighted least-squares line through (time, value) samples, kept as six running
+// sums: every sample decays them and adds one point, so the update is O(1) with no stored window.
+// The sums are re-based on the latest sample each update (time 0, value 0), which keeps them
+// small and well conditioned however long the fit runs. Time is in hours, so slopes are per hour.
+final class WeightedTrend {
+
+    private static final double HOUR_MS = TimeUnit.HOURS.toMillis(1);
+
+    private long samples;
+    private long firstTimestamp;
+
+    // Latest sample, the origin of the sums below
+    private long lastTimestamp;
+    private double lastValue;
+
+    private double sw;
+    private double st;
+    private double sy;
+    private double stt;
+    private double sty;
+    private double syy;
+
+    void reset() {
+        samples = 0;
+        sw = st = sy = stt = sty = syy = 0;
+    }
+
+    void add(long timestamp, double value, double halfLifeHours) {
+        if (samples == 0) {
+            firstTimestamp = timestamp;
+        } else {
+            double dt = (timestamp - lastTimestamp) / HOUR_MS;
+            double dy = value - lastValue;
+            // Move the origin to the new sample: t' = t - dt, y' = y - dy
+            stt += -2 * dt * st + dt * dt * sw;
+            syy += -2 * dy * sy + dy * dy * sw;
+            sty += -dt * sy - dy * st + dt * dy * sw;
+            st -= dt * sw;
+            sy -= dy * sw;
+            // Forget at a fixed rate per hour so irregular sample intervals weigh fairly
+            double decay = Math.pow(0.5, dt / halfLifeHours);
+            sw *= decay;
+            st *= decay;
+            sy *= decay;
+            stt *= decay;
+            sty *= decay;
+            syy *= decay;
+        }
+        // The new point sits at the origin, so it only adds its weight
+        sw += 1;
+        samples++;
+        lastTimestamp = timestamp;
+        lastValue = value;
+    }
+
+    long samples() {
+        return samples;
+    }
+
+    // Time covered since the first sample after the last reset
+    long spanMs() {
+        return samples > 0 ? lastTimestamp - firstTimestamp : 0;
+    }
+
+    // Change per hour; 0 until there are at least two distinct timestamps
+    double slope() {
+        double varT = sw * stt - st * st;
+        return varT > 0 ? (sw * sty - st * sy) / varT : 0.0;
+    }
+
+    // The fitted line's value at the latest sample
+    double fittedValue() {
+        return sw > 0 ? lastValue + (sy - slope() * st) / sw : lastValue;
+    }
+
+    // Weighted R^2: near 1 for a steady trend, near 0 for noise around a flat line
+    double rSquared() {
+        double varT = sw * stt - st * st;
+        double varY = sw * syy - sy * sy;
+        if (varT <= 0 || varY <= 0) {
+            return 0.0;
+        }
+        double cov = sw * sty - st * sy;
+        return cov * cov / (varT * varY);
+    }
+}
@@ -0,0 +1,15 @@
+package OSHI.example.project.Retention;
+
+// One compaction pass across every tier
+public record CompactionReport(
+        long startedAt,
+        double durationMs,
+        long bytesReclaimed,
+        long memoryBytesReclaimed,
+        int rawChunksMerged,
+        int rollupBucketsExpired,
+        int segmentsDropped,
+        long segmentBytesReclaimed,
+        int partitionsDropped,
+        long partitionBytesReclaimed) {
+}
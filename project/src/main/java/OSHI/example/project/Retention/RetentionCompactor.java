@@ -0,0 +1,119 @@
+package OSHI.example.project.Retention;
+
+import OSHI.example.project.History.HistoryCompaction;
+import OSHI.example.project.History.MetricStore;
+import OSHI.example.project.History.SegmentStore;
+import OSHI.example.project.Sink.PostgresMetricsSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Background retention for every place history lives: in-memory raw chunks and rollup rings,
+// mapped segment files, and the Postgres day partitions. Runs on its own thread so the sampler is
+// never blocked; each expiry is O(1) per unit (a chunk, a segment file, a partition) rather than a
+// scan and delete of individual samples.
+@Component
+public class RetentionCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionCompactor.class);
+
+    private final MetricStore metricStore;
+    private final SegmentStore segmentStore;
+    private final PostgresMetricsSink metricsSink;
+    private final RetentionPolicy policy;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+    private volatile CompactionReport lastReport;
+
+    private Timer duration;
+    private Counter reclaimed;
+
+    @Value("${monitor.retention.interval-ms:600000}")
+    private long intervalMs;
+
+    public RetentionCompactor(MetricStore metricStore, SegmentStore segmentStore, PostgresMetricsSink metricsSink,
+                              RetentionPolicy policy, MeterRegistry meterRegistry) {
+        this.metricStore = metricStore;
+        this.segmentStore = segmentStore;
+        this.metricsSink = metricsSink;
+        this.policy = policy;
+        this.meterRegistry = meterRegistry;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "retention-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        duration = Timer.builder("monitor.retention.compaction.duration").register(meterRegistry);
+        reclaimed = Counter.builder("monitor.retention.bytes.reclaimed").baseUnit("bytes").register(meterRegistry);
+        scheduler.scheduleWithFixedDelay(this::compactSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public CompactionReport getLastReport() {
+        return lastReport;
+    }
+
+    private void compactSafely() {
+        try {
+            compact();
+        } catch (Exception e) {
+            log.warn("Retention compaction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void compact() {
+        long now = System.currentTimeMillis();
+        long started = System.nanoTime();
+
+        HistoryCompaction memory = metricStore.compact(now);
+        TierReclaim segments = segmentStore.dropBefore(now - policy.getSegmentMs());
+        TierReclaim partitions = dropPartitions(now);
+
+        double elapsedMs = (System.nanoTime() - started) / 1_000_000.0;
+        long bytes = memory.bytesReclaimed() + segments.bytesReclaimed() + partitions.bytesReclaimed();
+        lastReport = new CompactionReport(now, elapsedMs, bytes, memory.bytesReclaimed(), memory.chunksMerged(),
+                memory.bucketsExpired(), segments.dropped(), segments.bytesReclaimed(), partitions.dropped(),
+                partitions.bytesReclaimed());
+        duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        reclaimed.increment(bytes);
+        log.debug("Retention compaction reclaimed {} bytes in {} ms", bytes, String.format("%.1f", elapsedMs));
+    }
+
+    // A database outage mustn't stop the local tiers from being compacted
+    private TierReclaim dropPartitions(long now) {
+        try {
+            TierReclaim samples = metricsSink.dropPartitionsBefore(PostgresMetricsSink.SAMPLES_TABLE,
+                    utcDay(now - policy.getPostgresSampleMs()));
+            TierReclaim alerts = metricsSink.dropPartitionsBefore(PostgresMetricsSink.ALERTS_TABLE,
+                    utcDay(now - policy.getPostgresAlertMs()));
+            return new TierReclaim(samples.dropped() + alerts.dropped(),
+                    samples.bytesReclaimed() + alerts.bytesReclaimed());
+        } catch (Exception e) {
+            log.warn("Skipping Postgres partition retention: {}", e.getMessage());
+            return TierReclaim.NONE;
+        }
+    }
+
+    private static LocalDate utcDay(long epochMs) {
+        return LocalDate.ofEpochDay(Math.floorDiv(epochMs, 86_400_000L));
+    }
+}
@@ -0,0 +1,54 @@
+package OSHI.example.project.Retention;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// How long each storage tier keeps data. In-memory rollup rings are sized from these, and the
+// compactor expires everything older.
+@Component
+public class RetentionPolicy {
+
+    @Value("${monitor.retention.raw-hours:24}")
+    private long rawHours;
+
+    @Value("${monitor.retention.minute-days:7}")
+    private long minuteDays;
+
+    @Value("${monitor.retention.hour-days:365}")
+    private long hourDays;
+
+    @Value("${monitor.retention.segment-days:7}")
+    private long segmentDays;
+
+    @Value("${monitor.retention.postgres-sample-days:30}")
+    private long postgresSampleDays;
+
+    @Value("${monitor.retention.postgres-alert-days:365}")
+    private long postgresAlertDays;
+
+    public long getRawMs() {
+        return TimeUnit.HOURS.toMillis(rawHours);
+    }
+
+    public long getMinuteMs() {
+        return TimeUnit.DAYS.toMillis(minuteDays);
+    }
+
+    public long getHourMs() {
+        return TimeUnit.DAYS.toMillis(hourDays);
+    }
+
+    public long getSegmentMs() {
+        return TimeUnit.DAYS.toMillis(segmentDays);
+    }
+
+    public long getPostgresSampleMs() {
+        return TimeUnit.DAYS.toMillis(postgresSampleDays);
+    }
+
+    public long getPostgresAlertMs() {
+        return TimeUnit.DAYS.toMillis(postgresAlertDays);
+    }
+}
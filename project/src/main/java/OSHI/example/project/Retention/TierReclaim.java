@@ -0,0 +1,7 @@
+package OSHI.example.project.Retention;
+
+// What expiring one storage tier released
+public record TierReclaim(int dropped, long bytesReclaimed) {
+
+    public static final TierReclaim NONE = new TierReclaim(0, 0);
+}
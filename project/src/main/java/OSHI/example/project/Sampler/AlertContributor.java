@@ -0,0 +1,12 @@
+package OSHI.example.project.Sampler;
+
+import OSHI.example.project.DTO.AlertDTO;
+
+import java.util.List;
+
+// Adds alerts beyond the fixed thresholds in DerivedMetrics. Called on the sampler thread while
+// each snapshot is merged.
+public interface AlertContributor {
+
+    void contribute(long now, List<AlertDTO> alerts);
+}
@@ -0,0 +1,19 @@
+package OSHI.example.project.Sampler;
+
+// Per-collector bookkeeping published with every snapshot. A stale collector is still serving
+// its last good value, which is ageMs old.
+public record CollectorStatus(
+        String name,
+        boolean enabled,
+        long intervalMs,
+        int priority,
+        long timeoutMs,
+        long collectedAt,
+        long ageMs,
+        boolean stale,
+        double lastDurationMs,
+        long timeouts,
+        long failures,
+        int consecutiveFailures,
+        long nextRunAt) {
+}
@@ -0,0 +1,153 @@
+package OSHI.example.project.Sampler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// One registered source of metrics with its own cadence and deadline. Holds the last good value
+// it produced so the sampler can merge every collector's latest result into a single snapshot,
+// even when the current run is late or failing.
+// All state is owned by the sampler thread. The run itself happens on a virtual thread and only
+// hands its result back through the Future, which gives the needed happens-before edge.
+final class MetricCollector<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricCollector.class);
+
+    private final String name;
+    private final long intervalMs;
+    private final int priority;
+    private final long timeoutMs;
+    private final long maxBackoffMs;
+    private final Supplier<T> source;
+
+    private T value;
+    private long collectedAt;
+    private long nextDueAt;
+    private double lastDurationMs;
+
+    // A run that missed its deadline stays here until it finishes, so a hung OSHI call never
+    // gets a second thread stacked on top of it
+    private Future<Run<T>> inFlight;
+    private long launchedAt;
+    private long launchedNanos;
+
+    // Off when the capability probe found this collector's source dead on this host
+    private boolean enabled = true;
+    private boolean stale;
+    private int consecutiveFailures;
+    private long timeouts;
+    private long failures;
+
+    MetricCollector(String name, long intervalMs, int priority, long timeoutMs, long maxBackoffMs, Supplier<T> source) {
+        this.name = name;
+        this.intervalMs = intervalMs;
+        this.priority = priority;
+        this.timeoutMs = timeoutMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.source = source;
+    }
+
+    boolean isDue(long now) {
+        return enabled && inFlight == null && now >= nextDueAt;
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    void launch(ExecutorService executor, long now) {
+        launchedAt = now;
+        launchedNanos = System.nanoTime();
+        inFlight = executor.submit(() -> {
+            long started = System.nanoTime();
+            T result = source.get();
+            return new Run<>(result, (System.nanoTime() - started) / 1_000_000.0);
+        });
+    }
+
+    // Waits for the current run until its deadline. Returns true when a fresh value was accepted.
+    boolean await(long now) {
+        long remaining = launchedNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMs) - System.nanoTime();
+        try {
+            accept(inFlight.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS), launchedAt, true);
+            return true;
+        } catch (TimeoutException e) {
+            timeouts++;
+            fail(now);
+            log.warn("Collector {} missed its {}ms deadline, serving stale value", name, timeoutMs);
+        } catch (ExecutionException e) {
+            failures++;
+            inFlight = null;
+            fail(now);
+            log.warn("Collector {} failed: {}", name, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    // Picks up a run that overran an earlier deadline but has since finished. The value is kept,
+    // but the run still counts as a timeout: the failure count and backoff stay as they are so a
+    // chronically slow source keeps backing off instead of being relaunched straight away.
+    // Returns true when a (late) fresh value was accepted.
+    boolean harvest(long now) {
+        if (inFlight == null || !inFlight.isDone()) {
+            return false;
+        }
+        try {
+            accept(inFlight.get(), now, false);
+            return true;
+        } catch (ExecutionException e) {
+            failures++;
+            inFlight = null;
+            log.warn("Collector {} failed after its deadline: {}", name, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void accept(Run<T> run, long readAt, boolean onTime) {
+        inFlight = null;
+        value = run.value();
+        lastDurationMs = run.durationMs();
+        collectedAt = readAt;
+        stale = false;
+        if (onTime) {
+            consecutiveFailures = 0;
+            // Schedule from the launch rather than completion so slow collectors don't drift
+            nextDueAt = launchedAt + intervalMs;
+        }
+    }
+
+    // Keeps the last good value, marks it stale and backs off exponentially
+    private void fail(long now) {
+        stale = true;
+        consecutiveFailures++;
+        int exponent = Math.min(consecutiveFailures - 1, 20);
+        nextDueAt = now + Math.min(intervalMs << exponent, Math.max(maxBackoffMs, intervalMs));
+    }
+
+    String getName() { return name; }
+    int getPriority() { return priority; }
+    T getValue() { return value; }
+    boolean isStale() { return stale; }
+
+    long ageMs(long now) {
+        return collectedAt > 0 ? now - collectedAt : -1;
+    }
+
+    CollectorStatus status(long now) {
+        return new CollectorStatus(name, enabled, intervalMs, priority, timeoutMs, collectedAt, ageMs(now), stale,
+                lastDurationMs, timeouts, failures, consecutiveFailures, nextDueAt);
+    }
+
+    private record Run<T>(T value, double durationMs) {
+    }
+}
@@ -0,0 +1,324 @@
+package OSHI.example.project.Sampler;
+
+import OSHI.example.project.Collector.CapabilityProbe;
+import OSHI.example.project.Collector.CollectorPlan;
+import OSHI.example.project.Collector.CpuSample;
+import OSHI.example.project.Collector.DiskIoCollector;
+import OSHI.example.project.Collector.NetworkCollector;
+import OSHI.example.project.Collector.ProcessRankings;
+import OSHI.example.project.Collector.ProcessSort;
+import OSHI.example.project.Collector.ProcessTracker;
+import OSHI.example.project.Collector.SensorSample;
+import OSHI.example.project.Collector.TickSample;
+import OSHI.example.project.DTO.AlertDTO;
+import OSHI.example.project.DTO.DiskDTO;
+import OSHI.example.project.DTO.DiskIoDTO;
+import OSHI.example.project.DTO.MemoryDetailsDTO;
+import OSHI.example.project.DTO.NetworkDTO;
+import OSHI.example.project.DTO.SystemMetricsDTO;
+import OSHI.example.project.Service.DerivedMetrics;
+import OSHI.example.project.Service.SystemMonitoringService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Owns metric collection on its own clock. Every collector is registered with its own interval
+// and priority; on each base tick the due collectors are forked onto virtual threads and awaited
+// up to their own deadline, and the latest good value of every collector is merged into one
+// versioned snapshot. A collector that misses its deadline keeps serving its last value, flagged
+// stale, and is backed off exponentially while it keeps failing. Request threads never collect anything, they only read
+// the last published snapshot.
+@Component
+public class MetricsSampler {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsSampler.class);
+
+    // Lower value is forked first when several collectors are due on the same tick
+    private static final int PRIORITY_CPU = 0;
+    private static final int PRIORITY_MEMORY = 1;
+    private static final int PRIORITY_SENSORS = 2;
+    private static final int PRIORITY_NETWORK = 3;
+    private static final int PRIORITY_DISK_IO = 4;
+    private static final int PRIORITY_DISK = 5;
+    private static final int PRIORITY_PROCESS = 6;
+
+    private static final int TOP_PROCESS_LIMIT = 10;
+
+    private final SystemMonitoringService monitoringService;
+    private final ProcessTracker processTracker;
+    private final NetworkCollector networkCollector;
+    private final DiskIoCollector diskIoCollector;
+    private final CapabilityProbe capabilityProbe;
+    private final List<SnapshotListener> listeners;
+    private final List<AlertContributor> alertContributors;
+    private final AtomicReference<MetricsSnapshot> latest = new AtomicReference<>();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService collectorThreads = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<MetricCollector<?>> collectors = new ArrayList<>();
+
+    @Value("${monitor.sampler.interval-ms:1000}")
+    private long tickMs;
+
+    @Value("${monitor.collector.cpu.interval-ms:1000}")
+    private long cpuIntervalMs;
+
+    @Value("${monitor.collector.memory.interval-ms:1000}")
+    private long memoryIntervalMs;
+
+    @Value("${monitor.collector.sensors.interval-ms:5000}")
+    private long sensorsIntervalMs;
+
+    @Value("${monitor.collector.network.interval-ms:1000}")
+    private long networkIntervalMs;
+
+    @Value("${monitor.collector.disk.interval-ms:30000}")
+    private long diskIntervalMs;
+
+    @Value("${monitor.collector.disk-io.interval-ms:1000}")
+    private long diskIoIntervalMs;
+
+    @Value("${monitor.collector.process.interval-ms:5000}")
+    private long processIntervalMs;
+
+    @Value("${monitor.collector.cpu.timeout-ms:${monitor.collector.timeout-ms:2000}}")
+    private long cpuTimeoutMs;
+
+    @Value("${monitor.collector.memory.timeout-ms:${monitor.collector.timeout-ms:2000}}")
+    private long memoryTimeoutMs;
+
+    @Value("${monitor.collector.sensors.timeout-ms:${monitor.collector.timeout-ms:2000}}")
+    private long sensorsTimeoutMs;
+
+    @Value("${monitor.collector.network.timeout-ms:${monitor.collector.timeout-ms:2000}}")
+    private long networkTimeoutMs;
+
+    @Value("${monitor.collector.disk.timeout-ms:${monitor.collector.timeout-ms:2000}}")
+    private long diskTimeoutMs;
+
+    @Value("${monitor.collector.disk-io.timeout-ms:${monitor.collector.timeout-ms:2000}}")
+    private long diskIoTimeoutMs;
+
+    @Value("${monitor.collector.process.timeout-ms:${monitor.collector.timeout-ms:2000}}")
+    private long processTimeoutMs;
+
+    @Value("${monitor.collector.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${monitor.capabilities.reprobe-interval-ms:600000}")
+    private long reprobeIntervalMs;
+
+    private MetricCollector<CpuSample> cpu;
+    private MetricCollector<MemoryDetailsDTO> memory;
+    private MetricCollector<SensorSample> sensors;
+    private MetricCollector<List<NetworkDTO>> networks;
+    private MetricCollector<List<DiskDTO>> disks;
+    private MetricCollector<List<DiskIoDTO>> diskIo;
+    private MetricCollector<ProcessRankings> processes;
+
+    // Only touched from the sampler thread
+    private long version;
+
+    public MetricsSampler(SystemMonitoringService monitoringService, ProcessTracker processTracker,
+                          NetworkCollector networkCollector, DiskIoCollector diskIoCollector,
+                          CapabilityProbe capabilityProbe, List<SnapshotListener> listeners,
+                          List<AlertContributor> alertContributors) {
+        this.monitoringService = monitoringService;
+        this.processTracker = processTracker;
+        this.networkCollector = networkCollector;
+        this.diskIoCollector = diskIoCollector;
+        this.capabilityProbe = capabilityProbe;
+        this.listeners = listeners;
+        this.alertContributors = alertContributors;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        // Names match the ones CapabilityProbe disables
+        cpu = register("cpu", cpuIntervalMs, PRIORITY_CPU, cpuTimeoutMs, monitoringService::sampleCpu);
+        memory = register("memory", memoryIntervalMs, PRIORITY_MEMORY, memoryTimeoutMs,
+                monitoringService::getMemoryDetails);
+        sensors = register(CapabilityProbe.SENSORS, sensorsIntervalMs, PRIORITY_SENSORS, sensorsTimeoutMs,
+                monitoringService::sampleSensors);
+        networks = register(CapabilityProbe.NETWORK, networkIntervalMs, PRIORITY_NETWORK, networkTimeoutMs,
+                networkCollector::sample);
+        diskIo = register(CapabilityProbe.DISK_IO, diskIoIntervalMs, PRIORITY_DISK_IO, diskIoTimeoutMs, diskIoCollector::sample);
+        disks = register("disk", diskIntervalMs, PRIORITY_DISK, diskTimeoutMs, monitoringService::getDiskInfo);
+        processes = register("process", processIntervalMs, PRIORITY_PROCESS, processTimeoutMs,
+                processTracker::sample);
+        collectors.sort(Comparator.comparingInt(MetricCollector::getPriority));
+        applyPlan(capabilityProbe.getPlan());
+
+        // Publish a first snapshot with every collector before any request can arrive
+        tickSafely();
+        scheduler.scheduleAtFixedRate(this::tickSafely, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::reprobe, reprobeIntervalMs, reprobeIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        collectorThreads.shutdownNow();
+    }
+
+    public MetricsSnapshot getSnapshot() {
+        return latest.get();
+    }
+
+    public SystemMetricsDTO getMetrics() {
+        return latest.get().metrics();
+    }
+
+    private <T> MetricCollector<T> register(String name, long intervalMs, int priority, long timeoutMs,
+                                            Supplier<T> source) {
+        MetricCollector<T> collector = new MetricCollector<>(name, intervalMs, priority, timeoutMs, maxBackoffMs, source);
+        collectors.add(collector);
+        return collector;
+    }
+
+    // Probing touches the same slow sources the deadlines guard against, so it runs on a virtual
+    // thread and only the resulting plan is applied, and published, on the sampler thread
+    private void reprobe() {
+        collectorThreads.execute(() -> {
+            try {
+                CollectorPlan plan = capabilityProbe.probe();
+                scheduler.execute(() -> applyPlan(plan));
+            } catch (Exception e) {
+                log.warn("Capability probe failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void applyPlan(CollectorPlan plan) {
+        for (MetricCollector<?> collector : collectors) {
+            collector.setEnabled(plan.isEnabled(collector.getName()));
+        }
+        capabilityProbe.publish(plan);
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (Exception e) {
+            // A failed pass keeps the previous snapshot; never let the schedule die
+            log.warn("Metrics sampling failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        // Half a tick of slack so timer jitter doesn't push a collector to the following tick
+        long dueBy = now + tickMs / 2;
+        boolean changed = false;
+
+        // Runs that overran an earlier deadline may have finished since
+        for (MetricCollector<?> collector : collectors) {
+            changed |= collector.harvest(now);
+        }
+
+        // Collectors are independent OSHI reads, so a tick costs as long as the slowest one
+        // rather than the sum, and never longer than the largest deadline
+        List<MetricCollector<?>> launched = new ArrayList<>();
+        for (MetricCollector<?> collector : collectors) {
+            if (collector.isDue(dueBy)) {
+                collector.launch(collectorThreads, now);
+                launched.add(collector);
+            }
+        }
+        for (MetricCollector<?> collector : launched) {
+            changed |= collector.await(now);
+        }
+
+        if (changed || !launched.isEmpty()) {
+            ProcessRankings rankings = processes.getValue() != null ? processes.getValue() : ProcessRankings.EMPTY;
+            MetricsSnapshot snapshot = new MetricsSnapshot(++version, now, merge(now, rankings), rankings, statuses(now));
+            latest.set(snapshot);
+            notifyListeners(snapshot);
+        }
+    }
+
+    private void notifyListeners(MetricsSnapshot snapshot) {
+        for (SnapshotListener listener : listeners) {
+            try {
+                listener.onSnapshot(snapshot);
+            } catch (Exception e) {
+                // One broken consumer must not starve the others or the sampler
+                log.warn("Snapshot listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private List<CollectorStatus> statuses(long now) {
+        List<CollectorStatus> statuses = new ArrayList<>(collectors.size());
+        for (MetricCollector<?> collector : collectors) {
+            statuses.add(collector.status(now));
+        }
+        return List.copyOf(statuses);
+    }
+
+    // Builds a fresh DTO from the latest good value of every collector. Collector values are never
+    // mutated after collection, so sharing them between consecutive snapshots is safe.
+    private SystemMetricsDTO merge(long now, ProcessRankings rankings) {
+        SystemMetricsDTO metrics = new SystemMetricsDTO();
+        metrics.setTimestamp(new Date(now));
+        CpuSample cpuSample = cpu.getValue();
+        MemoryDetailsDTO memoryDetails = memory.getValue();
+        SensorSample sensorSample = sensors.getValue();
+
+        metrics.setCpu(cpuSample != null ? cpuSample.details() : null);
+        metrics.setMemory(memoryDetails);
+        // Lists default to empty so a collector that has never succeeded doesn't null the payload
+        metrics.setDisks(valueOr(disks, List.of()));
+        metrics.setDiskIo(valueOr(diskIo, List.of()));
+        metrics.setNetworks(valueOr(networks, List.of()));
+        metrics.setProcesses(rankings.top(ProcessSort.CPU, TOP_PROCESS_LIMIT));
+        List<AlertDTO> alerts = new ArrayList<>();
+        if (cpuSample != null && memoryDetails != null) {
+            // Every derived view works off the same single reading of each source
+            TickSample sample = new TickSample(now, cpuSample, memoryDetails,
+                    sensorSample != null ? sensorSample : SensorSample.EMPTY,
+                    metrics.getDisks(), rankings.getTrackedProcesses(), monitoringService.getUptimeSeconds(now),
+                    capabilityProbe.getPlan());
+            metrics.setDashboard(DerivedMetrics.dashboard(sample));
+            alerts.addAll(DerivedMetrics.alerts(sample));
+        }
+        for (AlertContributor contributor : alertContributors) {
+            contributor.contribute(now, alerts);
+        }
+        metrics.setAlerts(alerts);
+
+        Map<String, Long> staleCollectors = new LinkedHashMap<>();
+        for (MetricCollector<?> collector : collectors) {
+            if (collector.isStale()) {
+                staleCollectors.put(collector.getName(), collector.ageMs(now));
+            }
+        }
+        metrics.setStaleCollectors(staleCollectors);
+        return metrics;
+    }
+
+    private static <T> T valueOr(MetricCollector<T> collector, T fallback) {
+        T value = collector.getValue();
+        return value != null ? value : fallback;
+    }
+}
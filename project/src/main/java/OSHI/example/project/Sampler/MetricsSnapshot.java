@@ -0,0 +1,16 @@
+package OSHI.example.project.Sampler;
+
+import OSHI.example.project.Collector.ProcessRankings;
+import OSHI.example.project.DTO.SystemMetricsDTO;
+
+import java.util.List;
+
+// Immutable view of one sampling pass. Once published the metrics graph is never mutated,
+// so readers can hand it straight to Jackson without copying.
+public record MetricsSnapshot(
+        long version,
+        long timestamp,
+        SystemMetricsDTO metrics,
+        ProcessRankings processRankings,
+        List<CollectorStatus> collectors) {
+}
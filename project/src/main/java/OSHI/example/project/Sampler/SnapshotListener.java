@@ -0,0 +1,8 @@
+package OSHI.example.project.Sampler;
+
+// Called on the sampler thread right after each snapshot is published. Implementations must be
+// quick and must not block; anything slow belongs on its own thread.
+public interface SnapshotListener {
+
+    void onSnapshot(MetricsSnapshot snapshot);
+}
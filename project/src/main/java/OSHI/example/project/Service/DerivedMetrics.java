@@ -0,0 +1,260 @@
+package OSHI.example.project.Service;
+
+import OSHI.example.project.Collector.SensorSample;
+import OSHI.example.project.Collector.TickSample;
+import OSHI.example.project.DTO.AlertDTO;
+import OSHI.example.project.DTO.DashboardDTO;
+import OSHI.example.project.DTO.DiskDTO;
+import OSHI.example.project.DTO.FanDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Views derived from a TickSample. Everything here is a pure function of the sample: no OSHI
+// calls, so the sensors, memory and file stores are read once per tick by the collectors no
+// matter how many views use them.
+public final class DerivedMetrics {
+    
+    // Alert thresholds
+    private static final double CPU_CRITICAL = 90.0;
+    private static final double CPU_WARNING = 70.0;
+    private static final double MEMORY_CRITICAL = 90.0;
+    private static final double MEMORY_WARNING = 80.0;
+    private static final double TEMP_CRITICAL = 80.0;
+    private static final double TEMP_WARNING = 70.0;
+    private static final double DISK_CRITICAL = 95.0;
+    private static final double DISK_WARNING = 90.0;
+    private static final int FAN_CRITICAL = 0;
+    private static final int FAN_WARNING_HIGH = 3000;
+    private static final int FAN_WARNING_LOW = 500;
+    private static final int PROCESS_WARNING = 300;
+    
+    private DerivedMetrics() {
+    }
+    
+    public static DashboardDTO dashboard(TickSample sample) {
+        DashboardDTO dashboard = new DashboardDTO();
+        double cpuLoad = sample.cpu().load();
+        
+        dashboard.setCpuUsage(cpuLoad);
+        dashboard.setMemoryUsage(sample.memory().getUsagePercentage());
+        dashboard.setCpuTemperature(sample.sensors().cpuTemperature());
+        dashboard.setRunningProcesses(sample.processCount());
+        dashboard.setSystemUptime(formatUptime(sample.uptimeSeconds()));
+        dashboard.setStatus(status(sample));
+        
+        // Add fan information to dashboard
+        dashboard.setFanSpeed(averageFanSpeed(sample.sensors()));
+        dashboard.setFans(fans(sample.sensors()));
+        
+        return dashboard;
+    }
+    
+    public static List<AlertDTO> alerts(TickSample sample) {
+        List<AlertDTO> alerts = new ArrayList<>();
+        long timestamp = sample.timestamp();
+        
+        // CPU alert
+        double cpuLoad = sample.cpu().load();
+        if (cpuLoad >= CPU_CRITICAL) {
+            alerts.add(createAlert("CPU", "CRITICAL", 
+                String.format("CPU usage critical: %.1f%%", cpuLoad), 
+                cpuLoad, CPU_CRITICAL, timestamp));
+        } else if (cpuLoad >= CPU_WARNING) {
+            alerts.add(createAlert("CPU", "WARNING", 
+                String.format("CPU usage high: %.1f%%", cpuLoad), 
+                cpuLoad, CPU_WARNING, timestamp));
+        }
+        
+        // Memory alert
+        double memoryUsagePercent = sample.memory().getUsagePercentage();
+        if (memoryUsagePercent >= MEMORY_CRITICAL) {
+            alerts.add(createAlert("MEMORY", "CRITICAL", 
+                String.format("Memory usage critical: %.1f%%", memoryUsagePercent), 
+                memoryUsagePercent, MEMORY_CRITICAL, timestamp));
+        } else if (memoryUsagePercent >= MEMORY_WARNING) {
+            alerts.add(createAlert("MEMORY", "WARNING", 
+                String.format("Memory usage high: %.1f%%", memoryUsagePercent), 
+                memoryUsagePercent, MEMORY_WARNING, timestamp));
+        }
+        
+        // Temperature alert
+        double cpuTemp = sample.sensors().cpuTemperature();
+        if (cpuTemp >= TEMP_CRITICAL) {
+            alerts.add(createAlert("TEMPERATURE", "CRITICAL", 
+                String.format("CPU temperature critical: %.1f°C", cpuTemp), 
+                cpuTemp, TEMP_CRITICAL, timestamp));
+        } else if (cpuTemp >= TEMP_WARNING && cpuTemp > 0) {
+            alerts.add(createAlert("TEMPERATURE", "WARNING", 
+                String.format("CPU temperature high: %.1f°C", cpuTemp), 
+                cpuTemp, TEMP_WARNING, timestamp));
+        }
+        
+        // Disk alerts
+        for (DiskDTO disk : sample.disks()) {
+            double usagePercent = disk.getUsagePercentage();
+            if (usagePercent >= DISK_CRITICAL) {
+                alerts.add(createAlert("DISK", "CRITICAL", 
+                    String.format("Disk %s critical: %.1f%% full", disk.getName(), usagePercent), 
+                    usagePercent, DISK_CRITICAL, timestamp));
+            } else if (usagePercent >= DISK_WARNING) {
+                alerts.add(createAlert("DISK", "WARNING", 
+                    String.format("Disk %s almost full: %.1f%% full", disk.getName(), usagePercent), 
+                    usagePercent, DISK_WARNING, timestamp));
+            }
+        }
+        
+        // Process count alert
+        if (sample.processCount() > PROCESS_WARNING) {
+            alerts.add(createAlert("PROCESSES", "WARNING", 
+                String.format("High process count: %d", sample.processCount()), 
+                sample.processCount(), PROCESS_WARNING, timestamp));
+        }
+        
+        // Fan alerts
+        int[] fanSpeeds = sample.sensors().fanSpeeds();
+        if (fanSpeeds.length > 0) {
+            // Check for stopped fans
+            for (int i = 0; i < fanSpeeds.length; i++) {
+                if (fanSpeeds[i] <= FAN_CRITICAL) {
+                    alerts.add(createAlert("FAN", "CRITICAL", 
+                        String.format("Fan %d appears to be stopped (0 RPM)", i + 1), 
+                        0, 1, timestamp));
+                }
+            }
+            
+            // Check for excessively high fan speed
+            for (int i = 0; i < fanSpeeds.length; i++) {
+                if (fanSpeeds[i] > FAN_WARNING_HIGH) {
+                    alerts.add(createAlert("FAN", "WARNING", 
+                        String.format("Fan %d running at high speed: %d RPM", i + 1, fanSpeeds[i]), 
+                        fanSpeeds[i], FAN_WARNING_HIGH, timestamp));
+                }
+            }
+            
+            // Check for unusually low fan speed (might indicate impending failure)
+            for (int i = 0; i < fanSpeeds.length; i++) {
+                if (fanSpeeds[i] > 0 && fanSpeeds[i] < FAN_WARNING_LOW) {
+                    alerts.add(createAlert("FAN", "WARNING", 
+                        String.format("Fan %d running at unusually low speed: %d RPM", i + 1, fanSpeeds[i]), 
+                        fanSpeeds[i], FAN_WARNING_LOW, timestamp));
+                }
+            }
+        } else if (sample.plan().fanSpeeds()) {
+            // Fans were detected at probe time but returned nothing this tick. Hosts without
+            // fans at all are reported once through the capability plan, not on every payload.
+            alerts.add(createAlert("FAN", "INFO", 
+                "Fan speed reading not available", 
+                0, 0, timestamp));
+        }
+        
+        return alerts;
+    }
+    
+    public static String status(TickSample sample) {
+        double cpuUsage = sample.cpu().load();
+        double memoryUsage = sample.memory().getUsagePercentage();
+        if (cpuUsage >= CPU_CRITICAL || memoryUsage >= MEMORY_CRITICAL) {
+            return "CRITICAL";
+        } else if (cpuUsage >= CPU_WARNING || memoryUsage >= MEMORY_WARNING) {
+            return "WARNING";
+        }
+        
+        // Add fan status check
+        for (int speed : sample.sensors().fanSpeeds()) {
+            if (speed == 0) {
+                return "CRITICAL"; // Fan stopped is critical
+            }
+        }
+        
+        return "HEALTHY";
+    }
+    
+    public static String diskStatus(double usagePercentage) {
+        if (usagePercentage >= DISK_CRITICAL) {
+            return "CRITICAL";
+        } else if (usagePercentage >= DISK_WARNING) {
+            return "WARNING";
+        }
+        return "HEALTHY";
+    }
+    
+    // Get average fan speed for dashboard
+    public static Double averageFanSpeed(SensorSample sensors) {
+        // Calculate average of all fans
+        double sum = 0;
+        int count = 0;
+        for (int speed : sensors.fanSpeeds()) {
+            if (speed > 0) { // Only count positive speeds
+                sum += speed;
+                count++;
+            }
+        }
+        return count > 0 ? (double) Math.round(sum / count) : null;
+    }
+    
+    // Get detailed fan information
+    public static List<FanDTO> fans(SensorSample sensors) {
+        List<FanDTO> fans = new ArrayList<>();
+        int[] fanSpeeds = sensors.fanSpeeds();
+        
+        if (fanSpeeds.length > 0) {
+            for (int i = 0; i < fanSpeeds.length; i++) {
+                FanDTO fan = new FanDTO();
+                fan.setFanNumber(i + 1);
+                fan.setName("Fan " + (i + 1));
+                fan.setSpeed(fanSpeeds[i] > 0 ? fanSpeeds[i] : null);
+                fan.setStatus(fanStatus(fanSpeeds[i]));
+                fans.add(fan);
+            }
+        } else {
+            // No fans detected
+            FanDTO fan = new FanDTO();
+            fan.setFanNumber(1);
+            fan.setName("System Fan");
+            fan.setSpeed(null);
+            fan.setStatus("Not Detected");
+            fans.add(fan);
+        }
+        
+        return fans;
+    }
+    
+    // Determine fan status based on speed
+    private static String fanStatus(int speed) {
+        if (speed <= 0) return "Not Detected";
+        if (speed < FAN_WARNING_LOW) return "Very Low";
+        if (speed < 800) return "Low";
+        if (speed < 1500) return "Normal";
+        if (speed < FAN_WARNING_HIGH) return "High";
+        return "Very High";
+    }
+    
+    private static AlertDTO createAlert(String type, String level, String message, double value, double threshold,
+                                        long timestamp) {
+        AlertDTO alert = new AlertDTO();
+        alert.setType(type);
+        alert.setLevel(level);
+        alert.setMessage(message);
+        alert.setValue(value);
+        alert.setThreshold(String.valueOf(threshold));
+        alert.setTimestamp(timestamp);
+        return alert;
+    }
+    
+    private static String formatUptime(long seconds) {
+        if (seconds < 60) return seconds + " seconds";
+        
+        long days = seconds / (24 * 3600);
+        long hours = (seconds % (24 * 3600)) / 3600;
+        long minutes = (seconds % 3600) / 60;
+        
+        if (days > 0) {
+            return String.format("%d days, %02d:%02d", days, hours, minutes);
+        } else if (hours > 0) {
+            return String.format("%02d:%02d", hours, minutes);
+        } else {
+            return String.format("%d minutes", minutes);
+        }
+    }
+}
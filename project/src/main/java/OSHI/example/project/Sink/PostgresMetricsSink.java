@@ -0,0 +1,325 @@
+package OSHI.example.project.Sink;
+
+import OSHI.example.project.DTO.AlertDTO;
+import OSHI.example.project.History.SeriesExtractor;
+import OSHI.example.project.Retention.TierReclaim;
+import OSHI.example.project.Sampler.MetricsSnapshot;
+import OSHI.example.project.Sampler.SnapshotListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Long-term metric storage in Postgres for SQL analysis. The sampler thread only offers each
+// snapshot to a bounded queue (dropping it when the queue is full); a dedicated drainer thread
+// turns snapshots into rows and writes them with plain JDBC batch inserts, flushing when the batch
+// is full or flush-interval-ms has passed. Hibernate is bypassed entirely.
+//
+// Rows go to tables range-partitioned by UTC day with BRIN indexes on ts: samples arrive in time
+// order, so a BRIN index stays tiny, and retention can drop a whole day's partition at once.
+@Component
+public class PostgresMetricsSink implements SnapshotListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresMetricsSink.class);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    public static final String SAMPLES_TABLE = "metric_samples";
+    public static final String ALERTS_TABLE = "metric_alerts";
+
+    private static final String INSERT_SAMPLE = "INSERT INTO " + SAMPLES_TABLE + " (ts, metric, value) VALUES (?, ?, ?)";
+    private static final String INSERT_ALERT = "INSERT INTO " + ALERTS_TABLE
+            + " (ts, type, level, message, value, threshold) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private BlockingQueue<MetricsSnapshot> queue;
+    private Thread drainer;
+    private volatile boolean running;
+
+    // Drainer-thread state
+    private final SeriesExtractor extractor = new SeriesExtractor();
+    private final Set<LocalDate> partitions = new HashSet<>();
+    private final Set<String> activeAlerts = new HashSet<>();
+    private long[] timestamps;
+    private String[] metrics;
+    private double[] values;
+    private int pending;
+    private final List<AlertDTO> pendingAlerts = new ArrayList<>();
+    private long lastFlushAt;
+    private volatile boolean schemaReady;
+
+    private Counter droppedSnapshots;
+    private Counter rowsWritten;
+    private Counter failedBatches;
+    private DistributionSummary batchSize;
+    private Timer writeLatency;
+    private volatile int lastBatchSize;
+    private volatile double lastWriteMs;
+
+    @Value("${monitor.sink.postgres.enabled:true}")
+    private boolean enabled;
+
+    @Value("${monitor.sink.postgres.queue-capacity:1024}")
+    private int queueCapacity;
+
+    @Value("${monitor.sink.postgres.batch-size:2000}")
+    private int maxBatchSize;
+
+    @Value("${monitor.sink.postgres.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+
+    public PostgresMetricsSink(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        timestamps = new long[maxBatchSize];
+        metrics = new String[maxBatchSize];
+        values = new double[maxBatchSize];
+
+        Gauge.builder("monitor.sink.queue.depth", queue, BlockingQueue::size)
+                .description("Snapshots waiting for the Postgres sink")
+                .register(meterRegistry);
+        droppedSnapshots = Counter.builder("monitor.sink.dropped")
+                .description("Snapshots dropped because the sink queue was full")
+                .register(meterRegistry);
+        rowsWritten = Counter.builder("monitor.sink.rows.written").register(meterRegistry);
+        failedBatches = Counter.builder("monitor.sink.batches.failed").register(meterRegistry);
+        batchSize = DistributionSummary.builder("monitor.sink.batch.size").register(meterRegistry);
+        writeLatency = Timer.builder("monitor.sink.write.latency").register(meterRegistry);
+
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drain, "metrics-sink");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (drainer != null) {
+            drainer.interrupt();
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Override
+    public void onSnapshot(MetricsSnapshot snapshot) {
+        // Never blocks the sampler
+        if (enabled && !queue.offer(snapshot)) {
+            droppedSnapshots.increment();
+        }
+    }
+
+    public SinkStats getStats() {
+        return new SinkStats(enabled, schemaReady, queue.size(), queueCapacity, (long) droppedSnapshots.count(),
+                (long) rowsWritten.count(), (long) failedBatches.count(), lastBatchSize, lastWriteMs,
+                writeLatency.mean(TimeUnit.MILLISECONDS));
+    }
+
+    private void drain() {
+        lastFlushAt = System.currentTimeMillis();
+        while (running) {
+            try {
+                long wait = Math.max(lastFlushAt + flushIntervalMs - System.currentTimeMillis(), 0);
+                MetricsSnapshot snapshot = queue.poll(wait, TimeUnit.MILLISECONDS);
+                if (snapshot != null) {
+                    add(snapshot);
+                }
+                if (System.currentTimeMillis() - lastFlushAt >= flushIntervalMs) {
+                    flush();
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                log.warn("Metrics sink pass failed: {}", e.getMessage());
+            }
+        }
+        // Drain what is already queued on shutdown
+        MetricsSnapshot snapshot;
+        while ((snapshot = queue.poll()) != null) {
+            add(snapshot);
+        }
+        flush();
+    }
+
+    private void add(MetricsSnapshot snapshot) {
+        extractor.extract(snapshot, (metric, timestamp, value) -> {
+            if (pending == maxBatchSize) {
+                flush();
+            }
+            timestamps[pending] = timestamp;
+            metrics[pending] = metric;
+            values[pending] = value;
+            pending++;
+        });
+
+        // Alerts are re-derived every tick; only store the tick an alert first appears on
+        Set<String> current = new HashSet<>();
+        List<AlertDTO> alerts = snapshot.metrics().getAlerts();
+        if (alerts != null) {
+            for (AlertDTO alert : alerts) {
+                String key = alert.getType() + '|' + alert.getLevel() + '|' + alert.getMessage();
+                current.add(key);
+                if (!activeAlerts.contains(key)) {
+                    pendingAlerts.add(alert);
+                }
+            }
+        }
+        activeAlerts.clear();
+        activeAlerts.addAll(current);
+    }
+
+    private void flush() {
+        lastFlushAt = System.currentTimeMillis();
+        int rows = pending;
+        List<AlertDTO> alerts = List.copyOf(pendingAlerts);
+        pending = 0;
+        pendingAlerts.clear();
+        if (rows == 0 && alerts.isEmpty()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            ensureSchema();
+            ensurePartitions(rows, alerts);
+            if (rows > 0) {
+                jdbcTemplate.batchUpdate(INSERT_SAMPLE, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setTimestamp(1, new Timestamp(timestamps[i]));
+                        ps.setString(2, metrics[i]);
+                        ps.setDouble(3, values[i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows;
+                    }
+                });
+            }
+            if (!alerts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ALERT, alerts, alerts.size(), (ps, alert) -> {
+                    ps.setTimestamp(1, new Timestamp(alert.getTimestamp()));
+                    ps.setString(2, alert.getType());
+                    ps.setString(3, alert.getLevel());
+                    ps.setString(4, alert.getMessage());
+                    ps.setDouble(5, alert.getValue());
+                    ps.setString(6, alert.getThreshold());
+                });
+            }
+            long elapsed = System.nanoTime() - started;
+            writeLatency.record(elapsed, TimeUnit.NANOSECONDS);
+            batchSize.record(rows + alerts.size());
+            rowsWritten.increment(rows + alerts.size());
+            lastBatchSize = rows + alerts.size();
+            lastWriteMs = elapsed / 1_000_000.0;
+        } catch (Exception e) {
+            // The batch is dropped rather than retried so a dead database can't back up the queue
+            failedBatches.increment();
+            log.warn("Dropped a batch of {} metric rows: {}", rows + alerts.size(), e.getMessage());
+        }
+    }
+
+    private void ensureSchema() {
+        if (schemaReady) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + SAMPLES_TABLE
+                + " (ts timestamptz NOT NULL, metric text NOT NULL, value double precision NOT NULL)"
+                + " PARTITION BY RANGE (ts)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + SAMPLES_TABLE + "_ts_brin ON "
+                + SAMPLES_TABLE + " USING brin (ts)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ALERTS_TABLE
+                + " (ts timestamptz NOT NULL, type text NOT NULL, level text NOT NULL, message text,"
+                + " value double precision, threshold text) PARTITION BY RANGE (ts)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + ALERTS_TABLE + "_ts_brin ON "
+                + ALERTS_TABLE + " USING brin (ts)");
+        schemaReady = true;
+    }
+
+    private void ensurePartitions(int rows, List<AlertDTO> alerts) {
+        for (int i = 0; i < rows; i++) {
+            ensurePartition(timestamps[i]);
+        }
+        for (AlertDTO alert : alerts) {
+            ensurePartition(alert.getTimestamp());
+        }
+    }
+
+    private void ensurePartition(long timestamp) {
+        LocalDate day = LocalDate.ofEpochDay(Math.floorDiv(timestamp, 86_400_000L));
+        if (partitions.contains(day)) {
+            return;
+        }
+        for (String table : List.of(SAMPLES_TABLE, ALERTS_TABLE)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(table, day)
+                    + " PARTITION OF " + table + " FOR VALUES FROM ('" + day + " 00:00:00+00') TO ('"
+                    + day.plusDays(1) + " 00:00:00+00')");
+        }
+        partitions.add(day);
+    }
+
+    // Drops the day partitions of table that end on or before cutoffDay: a metadata-only
+    // DROP TABLE per day instead of a DELETE that would bloat the table and need vacuuming
+    public TierReclaim dropPartitionsBefore(String table, LocalDate cutoffDay) {
+        if (!enabled) {
+            return TierReclaim.NONE;
+        }
+        List<String> children = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?",
+                String.class, table);
+        int dropped = 0;
+        long bytes = 0;
+        for (String child : children) {
+            LocalDate day;
+            try {
+                day = LocalDate.parse(child.substring(table.length() + 1), PARTITION_SUFFIX);
+            } catch (RuntimeException e) {
+                // Not one of ours
+                continue;
+            }
+            if (!day.plusDays(1).isAfter(cutoffDay)) {
+                Long size = jdbcTemplate.queryForObject("SELECT pg_total_relation_size(?::regclass)", Long.class, child);
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + child);
+                dropped++;
+                bytes += size != null ? size : 0;
+            }
+        }
+        return new TierReclaim(dropped, bytes);
+    }
+
+    static String partitionName(String table, LocalDate day) {
+        return table + "_" + day.format(PARTITION_SUFFIX);
+    }
+}
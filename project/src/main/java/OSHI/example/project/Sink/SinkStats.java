@@ -0,0 +1,15 @@
+package OSHI.example.project.Sink;
+
+// Current state of the Postgres metrics sink, mirrored by the monitor.sink.* Micrometer meters
+public record SinkStats(
+        boolean enabled,
+        boolean schemaReady,
+        int queueDepth,
+        int queueCapacity,
+        long droppedSnapshots,
+        long rowsWritten,
+        long failedBatches,
+        int lastBatchSize,
+        double lastWriteMs,
+        double meanWriteMs) {
+}
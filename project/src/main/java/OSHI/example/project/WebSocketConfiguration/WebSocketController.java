@@ -7,8 +7,12 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Controller;
 
+import java.util.List;
+
+import OSHI.example.project.DTO.PredictionDTO;
 import OSHI.example.project.DTO.SystemMetricsDTO;
-import OSHI.example.project.Service.SystemMonitoringService;
+import OSHI.example.project.Prediction.Forecaster;
+import OSHI.example.project.Sampler.MetricsSampler;
 
 @Controller
 @EnableScheduling
@@ -18,17 +22,26 @@ public class WebSocketController {
     private SimpMessagingTemplate messagingTemplate;
     
     @Autowired
-    private SystemMonitoringService monitoringService;
+    private MetricsSampler metricsSampler;
+
+    @Autowired
+    private Forecaster forecaster;
     
     @Scheduled(fixedRate = 3000) // Update every 3 seconds
     public void sendSystemMetrics() {
-        SystemMetricsDTO metrics = monitoringService.getSystemMetrics();
+        SystemMetricsDTO metrics = metricsSampler.getMetrics();
         messagingTemplate.convertAndSend("/topic/metrics", metrics);
     }
     
+    @Scheduled(fixedRateString = "${monitor.prediction.publish-interval-ms:5000}")
+    public void sendPredictions() {
+        List<PredictionDTO> predictions = forecaster.getPredictions();
+        messagingTemplate.convertAndSend("/topic/predictions", predictions);
+    }
+    
     @MessageMapping("/request-metrics")
     public void requestMetrics() {
-        SystemMetricsDTO metrics = monitoringService.getSystemMetrics();
+        SystemMetricsDTO metrics = metricsSampler.getMetrics();
         messagingTemplate.convertAndSend("/topic/metrics", metrics);
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package OSHI.example.project.config;
+
+import OSHI.example.project.Collector.HostProfile;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import oshi.SystemInfo;
+
+@Configuration
+public class OshiConfig {
+
+    // One SystemInfo for the whole app so OSHI's memoized hardware handles are shared by every collector
+    @Bean
+    public SystemInfo systemInfo() {
+        return new SystemInfo();
+    }
+
+    @Bean
+    public HostProfile hostProfile(SystemInfo systemInfo) {
+        return HostProfile.capture(systemInfo);
+    }
+}
@@ -0,0 +1,41 @@
+package OSHI.example.project.History;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GorillaCodecTest {
+
+    @Test
+    void roundTripsIrregularTimestampsAndValues() {
+        long[] timestamps = {1_700_000_000_000L, 1_700_000_001_000L, 1_700_000_002_000L, 1_700_000_002_937L,
+                1_700_000_004_001L, 1_700_000_004_001L + 300_000L, 1_700_000_004_002L + 300_000L,
+                1_700_000_004_003L + 300_000L};
+        double[] values = {12.5, 12.5, 13.0078125, 0.0, -4.25, Double.MAX_VALUE, Double.MIN_VALUE, 1e12};
+
+        GorillaEncoder encoder = new GorillaEncoder(timestamps.length);
+        for (int i = 0; i < timestamps.length; i++) {
+            encoder.append(timestamps[i], values[i]);
+        }
+        GorillaDecoder decoder = encoder.seal().decoder();
+        for (int i = 0; i < timestamps.length; i++) {
+            assertTrue(decoder.next());
+            assertEquals(timestamps[i], decoder.timestamp());
+            assertEquals(values[i], decoder.value());
+        }
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void regularSlowMovingSeriesCompressesToAFewBitsPerSample() {
+        GorillaEncoder encoder = new GorillaEncoder(120);
+        long timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < 120; i++) {
+            encoder.append(timestamp + i * 1000L, 40.0 + (i % 5) / 128.0);
+        }
+        GorillaChunk chunk = encoder.seal();
+        assertTrue(chunk.sizeBytes() < 120 * 2, "expected under 2 bytes per sample, got " + chunk.sizeBytes());
+    }
+}
@@ -0,0 +1,131 @@
+package OSHI.example.project.History;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentTest {
+
+    private static final int RECORDS = 64;
+    private static final int STRIDE = 16;
+    private static final long BASE = 1_700_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoveryCutsTheTornTailAndDropsOlderRecordsPastIt() throws IOException {
+        Path path = dir.resolve("segment-0.seg");
+        Segment segment = Segment.create(path, 0, RECORDS * Segment.RECORD_BYTES, STRIDE);
+        for (int i = 0; i < 10; i++) {
+            segment.append(1, BASE + i * 1000L, i);
+        }
+        segment.force();
+
+        // Power loss: record 4 is torn, records 5..9 reached the disk intact
+        corruptChecksum(path, 4);
+
+        Segment recovered = Segment.recover(path, 0, STRIDE);
+        assertEquals(4, recovered.getRecords());
+        assertEquals(List.of(BASE, BASE + 1000, BASE + 2000, BASE + 3000), replay(recovered));
+        assertEquals(BASE + 3000, recovered.getMaxTimestamp());
+
+        // New appends only cover slots 4 and 5; a second recovery must stop right after them
+        recovered.append(1, BASE + 20_000, 20);
+        recovered.append(1, BASE + 21_000, 21);
+        recovered.force();
+
+        Segment again = Segment.recover(path, 0, STRIDE);
+        assertEquals(6, again.getRecords());
+        assertEquals(List.of(BASE, BASE + 1000, BASE + 2000, BASE + 3000, BASE + 20_000, BASE + 21_000),
+                replay(again));
+    }
+
+    @Test
+    void cleanSegmentRecoversEveryRecord() throws IOException {
+        Path path = dir.resolve("segment-1.seg");
+        Segment segment = Segment.create(path, 1, RECORDS * Segment.RECORD_BYTES, STRIDE);
+        for (int i = 0; i < 20; i++) {
+            segment.append(i % 3, BASE + i * 1000L, i * 0.5);
+        }
+        segment.force();
+
+        Segment recovered = Segment.recover(path, 1, STRIDE);
+        assertEquals(20, recovered.getRecords());
+        List<Double> values = new ArrayList<>();
+        recovered.scan(2, BASE, BASE + 20_000, (timestamp, value) -> values.add(value));
+        assertEquals(List.of(1.0, 2.5, 4.0, 5.5, 7.0, 8.5), values);
+    }
+
+    @Test
+    void tornDictionaryTailIsCutBeforeTheNextSeriesIsAdded() throws IOException {
+        Files.writeString(dir.resolve("series.dict"), "0\tcpu.usage\n1\tcpu.te", StandardCharsets.UTF_8);
+
+        SegmentStore store = openStore();
+        store.append("cpu.temperature", BASE, 61.0);
+        store.append("cpu.usage", BASE + 1000, 12.5);
+        store.close();
+        assertEquals("0\tcpu.usage\n1\tcpu.temperature\n",
+                Files.readString(dir.resolve("series.dict"), StandardCharsets.UTF_8));
+
+        List<String> replayed = new ArrayList<>();
+        SegmentStore reopened = openStore();
+        reopened.replay(0, (metric, timestamp, value) -> replayed.add(metric + "=" + value));
+        reopened.close();
+        assertEquals(List.of("cpu.temperature=61.0", "cpu.usage=12.5"), replayed);
+    }
+
+    @Test
+    void garbledDictionaryLineIsSkipped() throws IOException {
+        Files.writeString(dir.resolve("series.dict"), "0\tcpu.usage\n\0\0\tcpu.temperature\n",
+                StandardCharsets.UTF_8);
+
+        SegmentStore store = openStore();
+        assertTrue(store.isEnabled());
+        store.append("memory.used", BASE, 4.0);
+        store.close();
+
+        List<String> replayed = new ArrayList<>();
+        SegmentStore reopened = openStore();
+        reopened.replay(0, (metric, timestamp, value) -> replayed.add(metric));
+        reopened.close();
+        assertEquals(List.of("memory.used"), replayed);
+    }
+
+    private SegmentStore openStore() {
+        SegmentStore store = new SegmentStore();
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "directoryName", dir.toString());
+        ReflectionTestUtils.setField(store, "segmentBytes", RECORDS * Segment.RECORD_BYTES);
+        ReflectionTestUtils.setField(store, "indexStride", STRIDE);
+        ReflectionTestUtils.setField(store, "forceIntervalMs", 60_000L);
+        store.open();
+        return store;
+    }
+
+    private static List<Long> replay(Segment segment) {
+        List<Long> timestamps = new ArrayList<>();
+        segment.scanAll(0, (seriesId, timestamp, value) -> timestamps.add(timestamp));
+        return timestamps;
+    }
+
+    private static void corruptChecksum(Path path, int record) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek((long) record * Segment.RECORD_BYTES + 20);
+            int checksum = file.readInt();
+            file.seek((long) record * Segment.RECORD_BYTES + 20);
+            file.writeInt(~checksum);
+        }
+    }
+}
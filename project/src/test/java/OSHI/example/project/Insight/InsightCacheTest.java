@@ -0,0 +1,119 @@
+package OSHI.example.project.Insight;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InsightCacheTest {
+
+    private static final String PROMPT = "cpu: 42.0%\nmemory: 61.0%, 3.0 GiB available\nalerts: none\n";
+
+    private final StubInsightClient client = new StubInsightClient(new ObjectMapper());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private String ask() {
+        upstreamCalls.incrementAndGet();
+        return client.complete(PROMPT);
+    }
+
+    @Test
+    void concurrentLookupsOfOneKeyShareOneLoad() throws Exception {
+        InsightCache<String, String> cache = new InsightCache<>(60_000, 8, now::get);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> answers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                answers.add(executor.submit(() -> cache.get("snapshot", () -> {
+                    awaitQuietly(release);
+                    return ask();
+                })));
+            }
+            // Let every lookup reach the cache before the single load finishes
+            Thread.sleep(200);
+            release.countDown();
+            String first = answers.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<String> answer : answers) {
+                assertEquals(first, answer.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        InsightCacheStats stats = cache.getStats();
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, stats.loads());
+        assertEquals(7, stats.coalesced());
+    }
+
+    @Test
+    void expiredEntriesAreLoadedAgain() {
+        InsightCache<String, String> cache = new InsightCache<>(1_000, 8, now::get);
+        cache.get("snapshot", this::ask);
+        now.addAndGet(999);
+        cache.get("snapshot", this::ask);
+        assertEquals(1, upstreamCalls.get());
+        now.addAndGet(1);
+        cache.get("snapshot", this::ask);
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        InsightCache<String, String> cache = new InsightCache<>(60_000, 2, now::get);
+        cache.get("a", this::ask);
+        cache.get("b", this::ask);
+        // Touching a makes b the eldest
+        cache.get("a", this::ask);
+        cache.get("c", this::ask);
+        assertEquals(3, upstreamCalls.get());
+        cache.get("a", this::ask);
+        assertEquals(3, upstreamCalls.get());
+        cache.get("b", this::ask);
+        assertEquals(4, upstreamCalls.get());
+        assertEquals(2, cache.getStats().size());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        InsightCache<String, String> cache = new InsightCache<>(60_000, 8, now::get);
+        assertThrows(IllegalStateException.class, () -> cache.get("snapshot", () -> {
+            upstreamCalls.incrementAndGet();
+            throw new IllegalStateException("model unavailable");
+        }));
+        assertEquals(ask(), cache.get("snapshot", this::ask));
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(1, cache.getStats().failures());
+    }
+
+    @Test
+    void errorsReleaseWaitingCallers() {
+        InsightCache<String, String> cache = new InsightCache<>(60_000, 8, now::get);
+        assertThrows(AssertionError.class, () -> cache.get("snapshot", () -> {
+            throw new AssertionError("loader bug");
+        }));
+        // The key is no longer in flight, so the next lookup loads instead of waiting forever
+        assertTrue(cache.get("snapshot", this::ask).contains("healthScore"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package OSHI.example.project.Insight;
+
+import OSHI.example.project.Collector.HostProfile;
+import OSHI.example.project.Collector.ProcessRankings;
+import OSHI.example.project.DTO.DashboardDTO;
+import OSHI.example.project.DTO.MemoryDetailsDTO;
+import OSHI.example.project.DTO.ProcessDTO;
+import OSHI.example.project.DTO.ProcessInsightDTO;
+import OSHI.example.project.DTO.ProcessPredictionDTO;
+import OSHI.example.project.DTO.SystemMetricsDTO;
+import OSHI.example.project.Sampler.MetricsSampler;
+import OSHI.example.project.Sampler.MetricsSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessInsightServiceTest {
+
+    private static final long GIB = 1024L * 1024 * 1024;
+
+    private final List<String> prompts = new ArrayList<>();
+    private ProcessInsightService service;
+
+    @BeforeEach
+    void setUp() {
+        StubInsightClient stub = new StubInsightClient(new ObjectMapper());
+        InsightClient recording = new InsightClient() {
+            @Override
+            public String name() {
+                return stub.name();
+            }
+
+            @Override
+            public String complete(String prompt) {
+                prompts.add(prompt);
+                return stub.complete(prompt);
+            }
+        };
+
+        ProcessRankings rankings = mock(ProcessRankings.class);
+        when(rankings.find(10)).thenReturn(process(10, "busy", 85.0, GIB / 2));
+        when(rankings.find(20)).thenReturn(process(20, "idle", 1.0, 64L << 20));
+        when(rankings.find(40)).thenReturn(process(40, "hog", 2.0, 3 * GIB));
+
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setCpuUsage(55.0);
+        dashboard.setStatus("WARNING");
+        MemoryDetailsDTO memory = new MemoryDetailsDTO();
+        memory.setUsagePercentage(62.0);
+        memory.setAvailable(6 * GIB);
+        SystemMetricsDTO metrics = new SystemMetricsDTO();
+        metrics.setDashboard(dashboard);
+        metrics.setMemory(memory);
+        metrics.setDisks(List.of());
+        metrics.setAlerts(List.of());
+        metrics.setProcesses(List.of());
+
+        MetricsSampler sampler = mock(MetricsSampler.class);
+        when(sampler.getSnapshot()).thenReturn(new MetricsSnapshot(1, 1_700_000_000_000L, metrics, rankings, List.of()));
+        HostProfile host = new HostProfile("Linux", "6.1", "", "", 64, "", "", "Test CPU", "", "", 1, 4, 8, 0,
+                16 * GIB, 0, 0);
+
+        service = new ProcessInsightService(sampler, host, recording, new ObjectMapper(), 10, 60_000, 64, 20);
+    }
+
+    private static ProcessDTO process(int pid, String name, double cpu, long rss) {
+        ProcessDTO process = new ProcessDTO();
+        process.setPid(pid);
+        process.setStartTime(1_000L + pid);
+        process.setName(name);
+        process.setCpuUsage(cpu);
+        process.setMemoryUsage(rss);
+        process.setThreadCount(4);
+        process.setState("RUNNING");
+        return process;
+    }
+
+    @Test
+    void batchAnswerIsFannedOutToEachPidByRef() {
+        // 30 is not in the rankings and is left out
+        List<ProcessInsightDTO> insights = service.analyze(List.of(20, 30, 10));
+
+        assertEquals(1, prompts.size());
+        assertEquals(2, insights.size());
+        assertEquals(20, insights.get(0).getPid());
+        assertTrue(insights.get(0).getPredictions().isEmpty());
+        ProcessInsightDTO busy = insights.get(1);
+        assertEquals(10, busy.getPid());
+        assertEquals(1_010L, busy.getStartTime());
+        List<ProcessPredictionDTO> predictions = busy.getPredictions();
+        assertEquals(1, predictions.size());
+        assertEquals("CPU_SPIKE", predictions.get(0).getType());
+        assertTrue(predictions.get(0).getMessage().startsWith("busy "));
+    }
+
+    @Test
+    void secondRequestOnlySendsUncachedPids() {
+        service.analyze(List.of(10, 20));
+        List<ProcessInsightDTO> insights = service.analyze(List.of(10, 40));
+
+        assertEquals(2, prompts.size());
+        String second = prompts.get(1);
+        assertTrue(second.contains("(pid 40)"));
+        assertFalse(second.contains("(pid 10)"));
+        assertFalse(second.contains("(pid 20)"));
+        assertEquals(List.of(10, 40), insights.stream().map(ProcessInsightDTO::getPid).toList());
+        assertEquals("MEMORY_LEAK", insights.get(1).getPredictions().get(0).getType());
+        InsightCacheStats stats = service.getStats();
+        assertEquals(2, stats.loads());
+        assertEquals(3, stats.misses());
+        assertEquals(1, stats.hits());
+    }
+
+    @Test
+    void sharedContextAppearsOnceForTheWholeBatch() {
+        service.analyze(List.of(10, 20, 40));
+
+        String prompt = prompts.get(0);
+        assertEquals(1, occurrences(prompt, "host: "));
+        assertEquals(1, occurrences(prompt, "\ncpu: 55.0%"));
+        assertEquals(1, occurrences(prompt, "\nmemory: 62.0%"));
+        assertEquals(1, occurrences(prompt, "\nalerts: none"));
+        assertEquals(3, occurrences(prompt, "\nP"));
+    }
+
+    private static int occurrences(String text, String part) {
+        int count = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,100 @@
+package OSHI.example.project.Sampler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricCollectorTest {
+
+    private static final long INTERVAL_MS = 100;
+    private static final long TIMEOUT_MS = 20;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    // Stands in for a hung mount: each run blocks until the test lets it finish
+    private final AtomicBoolean slow = new AtomicBoolean(true);
+    private final Semaphore finish = new Semaphore(0);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private final MetricCollector<Integer> collector =
+            new MetricCollector<>("disk", INTERVAL_MS, 0, TIMEOUT_MS, 10_000, this::read);
+
+    private Integer read() {
+        int run = runs.incrementAndGet();
+        if (slow.get()) {
+            finish.acquireUninterruptibly();
+        }
+        return run;
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void lateRunKeepsItsValueButNotTheBackoffReset() throws Exception {
+        // First run times out, then finishes late
+        collector.launch(executor, 0);
+        assertFalse(collector.await(0));
+        assertTrue(finishLate(10));
+        assertEquals(1, collector.getValue());
+        assertFalse(collector.isStale());
+
+        CollectorStatus status = collector.status(10);
+        assertEquals(1, status.consecutiveFailures());
+        assertEquals(INTERVAL_MS, status.nextRunAt());
+        assertFalse(collector.isDue(10));
+
+        // Second slow run doubles the backoff instead of starting over at one failure
+        collector.launch(executor, 100);
+        assertFalse(collector.await(100));
+        assertTrue(finishLate(110));
+        assertEquals(2, collector.getValue());
+
+        status = collector.status(110);
+        assertEquals(2, status.consecutiveFailures());
+        assertEquals(100 + 2 * INTERVAL_MS, status.nextRunAt());
+        assertFalse(collector.isDue(299));
+        assertTrue(collector.isDue(300));
+    }
+
+    @Test
+    void onlyAnOnTimeRunClearsTheFailureCount() throws Exception {
+        collector.launch(executor, 0);
+        assertFalse(collector.await(0));
+        assertTrue(finishLate(10));
+
+        slow.set(false);
+        collector.launch(executor, 100);
+        assertTrue(collector.await(100));
+
+        CollectorStatus status = collector.status(100);
+        assertEquals(0, status.consecutiveFailures());
+        assertEquals(1, status.timeouts());
+        assertEquals(100 + INTERVAL_MS, status.nextRunAt());
+    }
+
+    // Releases the blocked run and harvests it once it has finished
+    private boolean finishLate(long now) throws InterruptedException {
+        finish.release();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (collector.harvest(now)) {
+                return true;
+            }
+            Thread.sleep(1);
+        }
+        return false;
+    }
+}